@@ -1,14 +1,14 @@
 package guru.springframework.sfgrestbrewery;
 
+import guru.springframework.sfgrestbrewery.config.SchemaMigrations;
 import io.r2dbc.spi.ConnectionFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
-import org.springframework.core.io.Resource;
+import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
-import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 
+@EnableR2dbcAuditing
 @SpringBootApplication
 public class SfgReactiveBreweryApplication {
 
@@ -16,14 +16,11 @@ public class SfgReactiveBreweryApplication {
         SpringApplication.run(SfgReactiveBreweryApplication.class, args);
     }
 
-    @Value("classpath:/schema.sql")
-    Resource resource;
-
     @Bean
     ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
         var initializer = new ConnectionFactoryInitializer();
         initializer.setConnectionFactory(connectionFactory);
-        initializer.setDatabasePopulator(new ResourceDatabasePopulator(resource));
+        initializer.setDatabasePopulator(SchemaMigrations.schemaPopulator());
 
         return initializer;
     }
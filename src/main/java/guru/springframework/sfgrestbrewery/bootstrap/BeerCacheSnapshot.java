@@ -0,0 +1,64 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The beer cache as a file: when it was taken, then each beer id with the beer in its cache serialized form.
+ * Written to a temporary file first and moved into place, so a crash mid-write never leaves a torn snapshot.
+ */
+record BeerCacheSnapshot(Instant takenAt, Map<Integer, byte[]> beers) {
+    private static final int MAGIC = 0x53464243;
+    //2: prices as long minor units, 3: styles as a code byte
+    private static final int FORMAT = 3;
+
+    void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT);
+            out.writeLong(takenAt.toEpochMilli());
+            out.writeInt(beers.size());
+            for (Map.Entry<Integer, byte[]> beer : beers.entrySet()) {
+                out.writeInt(beer.getKey());
+                out.writeInt(beer.getValue().length);
+                out.write(beer.getValue());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static BeerCacheSnapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT) {
+                throw new IOException(file + " is not a beer cache snapshot");
+            }
+            Instant takenAt = Instant.ofEpochMilli(in.readLong());
+
+            int count = in.readInt();
+            Map<Integer, byte[]> beers = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                int beerId = in.readInt();
+                byte[] beer = new byte[in.readInt()];
+                in.readFully(beer);
+                beers.put(beerId, beer);
+            }
+            return new BeerCacheSnapshot(takenAt, beers);
+        }
+    }
+}
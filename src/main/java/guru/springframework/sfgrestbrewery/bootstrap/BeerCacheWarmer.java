@@ -0,0 +1,220 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerOrderLineRepository;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.services.BlockingCalls;
+import guru.springframework.sfgrestbrewery.services.cache.BeerDtoCodec;
+import guru.springframework.sfgrestbrewery.services.cache.TieredCache;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_UPC_CACHE;
+
+/**
+ * Fills the beer caches once the application has started, so the first requests after a deploy do not all go to
+ * the database. The node reports out of service on the readiness probe until this is done.
+ * <p>
+ * With {@code sfg.brewery.warmup.snapshot-file} set, the cache is saved on shutdown and restored from that file on
+ * startup, brought up to date with whatever the change feed says was modified or deleted since. Otherwise, or when there is no
+ * usable snapshot, the whole catalog is loaded when it is small enough, else its most ordered beers.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+public class BeerCacheWarmer implements HealthIndicator {
+    private static final int BATCH_SIZE = 500;
+    //timestamps in the database come from every node's clock, not just this one
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final WarmupProperties properties;
+    private final BeerStore beerStore;
+    private final BeerOrderLineRepository beerOrderLineRepository;
+    private final BeerMapper beerMapper;
+    private final BlockingCalls blockingCalls;
+    private final Cache beerCache;
+    private final Cache beerUpcCache;
+    private final BeerDtoCodec codec = new BeerDtoCodec();
+    //beers that changed while warming, whose cached copies may have been read before the change
+    private final Set<Integer> changedWhileWarming = ConcurrentHashMap.newKeySet();
+    private volatile boolean warming;
+
+    private volatile Health health = Health.outOfService()
+                                           .withDetail("phase", "starting")
+                                           .build();
+
+    public BeerCacheWarmer(WarmupProperties properties, BeerStore beerStore, BeerOrderLineRepository beerOrderLineRepository,
+                           BeerMapper beerMapper, BlockingCalls blockingCalls, CacheManager cacheManager) {
+        this.properties = properties;
+        this.beerStore = beerStore;
+        this.beerOrderLineRepository = beerOrderLineRepository;
+        this.beerMapper = beerMapper;
+        this.blockingCalls = blockingCalls;
+        this.beerCache = cacheManager.getCache(BEER_CACHE);
+        this.beerUpcCache = cacheManager.getCache(BEER_UPC_CACHE);
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!properties.isEnabled()) {
+            health = Health.up().withDetail("phase", "disabled").build();
+            return;
+        }
+        health = Health.outOfService().withDetail("phase", "warming").build();
+        warming = true;
+        long start = System.nanoTime();
+
+        restoreSnapshot().switchIfEmpty(Mono.defer(this::loadFromDatabase))
+                         .doFinally(signal -> {
+                             warming = false;
+                             changedWhileWarming.forEach(beerCache::evict);
+                             if (!changedWhileWarming.isEmpty()) {
+                                 beerUpcCache.clear();
+                             }
+                         })
+                         .subscribe(result -> {
+                                     long millis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+                                     log.info("Warmed beer cache with {} beers from {} in {} ms", result.beers(), result.source(), millis);
+                                     health = Health.up()
+                                                    .withDetail("phase", "warm")
+                                                    .withDetail("source", result.source())
+                                                    .withDetail("beers", result.beers())
+                                                    .withDetail("millis", millis)
+                                                    .build();
+                                 },
+                                 //a cold cache is slower, not broken, so the node still goes ready
+                                 error -> {
+                                     log.warn("Beer cache warm-up failed, starting cold", error);
+                                     health = Health.up()
+                                                    .withDetail("phase", "cold")
+                                                    .withDetail("error", error.toString())
+                                                    .build();
+                                 });
+    }
+
+    /**
+     * Empty when snapshots are off or there is no fresh snapshot to restore.
+     */
+    private Mono<WarmupResult> restoreSnapshot() {
+        if (properties.getSnapshotFile() == null) {
+            return Mono.empty();
+        }
+
+        return blockingCalls.mono(() -> Files.exists(properties.getSnapshotFile()) ? BeerCacheSnapshot.read(properties.getSnapshotFile()) : null)
+                            .filter(snapshot -> snapshot.takenAt().isAfter(Instant.now().minus(properties.getSnapshotMaxAge())))
+                            .flatMap(snapshot -> {
+                                LocalDateTime since = LocalDateTime.ofInstant(snapshot.takenAt().minus(CLOCK_SKEW), ZoneId.systemDefault());
+                                Map<Integer, BeerDto> beers = new HashMap<>();
+                                snapshot.beers().forEach((beerId, beer) -> beers.put(beerId, codec.decode(beer)));
+
+                                //catch up on what changed since the snapshot: modified beers are replaced, deleted ones dropped
+                                return beerStore.findModifiedSince(since)
+                                                .filter(beer -> beers.containsKey(beer.getId()))
+                                                .doOnNext(beer -> beers.put(beer.getId(), beerMapper.beerToBeerDto(beer)))
+                                                .thenMany(beerStore.findDeletedSince(since))
+                                                .doOnNext(tombstone -> beers.remove(tombstone.getBeerId()))
+                                                .then(Mono.fromSupplier(() -> {
+                                                    beers.values().forEach(this::put);
+                                                    return new WarmupResult("snapshot", beers.size());
+                                                }));
+                            });
+    }
+
+    private Mono<WarmupResult> loadFromDatabase() {
+        return beerStore.count(null, null)
+                        .flatMap(count -> {
+                            boolean wholeCatalog = count <= properties.getFullCatalogThreshold();
+                            Flux<Beer> beers = wholeCatalog ? wholeCatalog() : hottestBeers();
+
+                            return beers.map(beerMapper::beerToBeerDto)
+                                        .doOnNext(this::put)
+                                        .count()
+                                        .map(loaded -> new WarmupResult(wholeCatalog ? "catalog" : "most ordered", loaded));
+                        });
+    }
+
+    private Flux<Beer> wholeCatalog() {
+        return beerStore.findAllAfter(null, null, 0, BATCH_SIZE, BeerField.ALL)
+                        .collectList()
+                        .expand(batch -> batch.size() < BATCH_SIZE ?
+                                Mono.empty() :
+                                beerStore.findAllAfter(null, null, batch.get(batch.size() - 1).getId(), BATCH_SIZE, BeerField.ALL).collectList())
+                        .flatMapIterable(batch -> batch);
+    }
+
+    private Flux<Beer> hottestBeers() {
+        return beerOrderLineRepository.findMostOrderedBeerIds(properties.getHotBeers())
+                                      .buffer(BATCH_SIZE)
+                                      .concatMap(beerStore::findAllById);
+    }
+
+    private void put(BeerDto beer) {
+        beerCache.put(beer.getId(), beer);
+        if (beer.getUpc() != null) {
+            beerUpcCache.put(beer.getUpc(), beer);
+        }
+    }
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        //warming only loads the default tenant
+        if (warming && event.beerId() != null && TenantContext.isDefault(event.tenant())) {
+            changedWhileWarming.add(event.beerId());
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void saveSnapshot() {
+        if (properties.getSnapshotFile() == null || !(beerCache instanceof TieredCache<?> tieredCache)) {
+            return;
+        }
+
+        Map<Integer, byte[]> beers = new HashMap<>();
+        tieredCache.forEachEncoded((key, beer) -> {
+            if (key instanceof Integer beerId) {
+                beers.put(beerId, beer);
+            }
+        });
+
+        try {
+            new BeerCacheSnapshot(Instant.now(), beers).write(properties.getSnapshotFile());
+            log.info("Saved {} cached beers to {}", beers.size(), properties.getSnapshotFile());
+        } catch (Exception e) {
+            log.warn("Could not save beer cache snapshot to {}", properties.getSnapshotFile(), e);
+        }
+    }
+
+    private record WarmupResult(String source, long beers) {
+    }
+}
@@ -3,13 +3,12 @@ package guru.springframework.sfgrestbrewery.bootstrap;
 import guru.springframework.sfgrestbrewery.domain.Beer;
 import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.Money;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.time.LocalDateTime;
 import java.util.Random;
 
@@ -73,7 +72,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Mango Bobs")
                                     .beerStyle(BeerStyleEnum.ALE)
                                     .upc(BEER_1_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -83,7 +82,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Galaxy Cat")
                                     .beerStyle(BeerStyleEnum.PALE_ALE)
                                     .upc(BEER_2_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -93,7 +92,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("No Hammers On The Bar")
                                     .beerStyle(BeerStyleEnum.WHEAT)
                                     .upc(BEER_3_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -103,7 +102,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Blessed")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_4_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -113,7 +112,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Adjunct Trail")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_5_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -123,7 +122,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Very GGGreenn")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_6_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -133,7 +132,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Double Barrel Hunahpu's")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_7_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -143,7 +142,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Very Hazy")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_8_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -153,7 +152,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("SR-71")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_9_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -163,7 +162,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Pliny the Younger")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_10_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -173,7 +172,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Blessed")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_11_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -183,7 +182,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("King Krush")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_12_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -193,7 +192,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("PBS Porter")
                                     .beerStyle(BeerStyleEnum.PORTER)
                                     .upc(BEER_13_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -203,7 +202,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Pinball Porter")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_14_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -213,7 +212,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Golden Budda")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_15_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -223,7 +222,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Grand Central Red")
                                     .beerStyle(BeerStyleEnum.LAGER)
                                     .upc(BEER_16_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -233,7 +232,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Pac-Man")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_17_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -243,7 +242,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Ro Sham Bo")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_18_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -253,7 +252,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Summer Wheatly")
                                     .beerStyle(BeerStyleEnum.WHEAT)
                                     .upc(BEER_19_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -263,7 +262,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Java Jill")
                                     .beerStyle(BeerStyleEnum.LAGER)
                                     .upc(BEER_20_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -273,7 +272,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Bike Trail Pale")
                                     .beerStyle(BeerStyleEnum.PALE_ALE)
                                     .upc(BEER_21_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -283,7 +282,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("N.Z.P")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_22_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -293,7 +292,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Stawberry Blond")
                                     .beerStyle(BeerStyleEnum.WHEAT)
                                     .upc(BEER_23_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -303,7 +302,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Loco")
                                     .beerStyle(BeerStyleEnum.PORTER)
                                     .upc(BEER_24_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -313,7 +312,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Spocktoberfest")
                                     .beerStyle(BeerStyleEnum.STOUT)
                                     .upc(BEER_25_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -323,7 +322,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Beach Blond Ale")
                                     .beerStyle(BeerStyleEnum.ALE)
                                     .upc(BEER_26_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -333,7 +332,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Bimini Twist IPA")
                                     .beerStyle(BeerStyleEnum.IPA)
                                     .upc(BEER_27_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -343,7 +342,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Rod Bender Red Ale")
                                     .beerStyle(BeerStyleEnum.ALE)
                                     .upc(BEER_28_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -353,7 +352,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("Floating Dock")
                                     .beerStyle(BeerStyleEnum.SAISON)
                                     .upc(BEER_29_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
@@ -363,7 +362,7 @@ public class BeerLoader implements CommandLineRunner {
                                     .beerName("El Hefe")
                                     .beerStyle(BeerStyleEnum.WHEAT)
                                     .upc(BEER_30_UPC)
-                                    .price(new BigDecimal(BigInteger.valueOf(random.nextInt(10000)), 2))
+                                    .price(Money.ofMinor(random.nextInt(10000)))
                                     .quantityOnHand(random.nextInt(5000))
                                     .createdDate(LocalDateTime.now())
                                     .lastModifiedDate(LocalDateTime.now())
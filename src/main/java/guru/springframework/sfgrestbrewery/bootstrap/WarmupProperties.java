@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Startup cache warm-up, bound from {@code sfg.brewery.warmup.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Catalogs up to this many beers are cached whole, larger ones only their most ordered beers.
+     */
+    private int fullCatalogThreshold = 10_000;
+
+    /**
+     * How many of the most ordered beers to cache when the catalog is too large to cache whole.
+     */
+    private int hotBeers = 1_000;
+
+    /**
+     * Where the beer cache is saved on shutdown and restored from on startup. Unset disables snapshots.
+     */
+    private Path snapshotFile;
+
+    /**
+     * Older snapshots are ignored and the cache is loaded from the database instead.
+     */
+    private Duration snapshotMaxAge = Duration.ofHours(1);
+}
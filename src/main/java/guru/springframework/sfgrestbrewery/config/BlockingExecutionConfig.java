@@ -0,0 +1,58 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.controller.BeerController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Where blocking work runs, so it never lands on a Netty event loop thread.
+ * <ul>
+ *     <li>{@code sfg.brewery.blocking.scheduler}: {@code virtual} (default) runs each blocking call on its own virtual
+ *     thread, {@code bounded-elastic} uses Reactor's capped platform thread pool</li>
+ *     <li>{@code sfg.brewery.blocking.v1-controller-on-virtual-threads}: invoke the v1 {@link BeerController} methods
+ *     on virtual threads, for when they call into blocking code directly</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class BlockingExecutionConfig implements WebFluxConfigurer {
+    public static final String VIRTUAL = "virtual";
+    public static final String BOUNDED_ELASTIC = "bounded-elastic";
+
+    private final boolean v1ControllerOnVirtualThreads;
+
+    public BlockingExecutionConfig(@Value("${sfg.brewery.blocking.v1-controller-on-virtual-threads:false}") boolean v1ControllerOnVirtualThreads) {
+        this.v1ControllerOnVirtualThreads = v1ControllerOnVirtualThreads;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    Scheduler blockingScheduler(@Value("${sfg.brewery.blocking.scheduler:virtual}") String mode) {
+        log.info("Blocking calls run on the {} scheduler", mode);
+
+        return switch (mode) {
+            case VIRTUAL -> Schedulers.fromExecutorService(Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                                                                                                    .name("blocking-vt-", 0)
+                                                                                                    .factory()), "blocking-vt");
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "blocking-elastic");
+            default -> throw new IllegalArgumentException("Unknown sfg.brewery.blocking.scheduler: " + mode);
+        };
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        if (v1ControllerOnVirtualThreads) {
+            configurer.setExecutor(new VirtualThreadTaskExecutor("v1-controller-vt-"));
+            configurer.setControllerMethodPredicate(handlerMethod -> BeerController.class.isAssignableFrom(handlerMethod.getBeanType()));
+        }
+    }
+}
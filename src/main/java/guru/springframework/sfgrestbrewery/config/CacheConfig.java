@@ -0,0 +1,56 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.cache.BeerDtoCodec;
+import guru.springframework.sfgrestbrewery.services.cache.LruCache;
+import guru.springframework.sfgrestbrewery.services.cache.TieredCache;
+import guru.springframework.sfgrestbrewery.services.cache.TieredCacheProperties;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Turns on the {@code @Cacheable} service methods. Spring caches the value a {@code Mono} emits rather than
+ * the {@code Mono} itself, so cached lookups stay non-blocking.
+ * <p>
+ * Single beers, the bulk of what is cached, go in {@link TieredCache}s sized by {@code sfg.brewery.cache.*};
+ * list pages and customers go in {@link LruCache}s. Every cache is bounded, since list keys carry free-form filters.
+ */
+@EnableCaching
+@Configuration
+@EnableConfigurationProperties(TieredCacheProperties.class)
+public class CacheConfig {
+    public static final String BEER_CACHE = "beerCache";
+    public static final String BEER_UPC_CACHE = "beerUpcCache";
+    public static final String BEER_LIST_CACHE = "beerListCache";
+    public static final String CUSTOMER_CACHE = "customerCache";
+
+    @Bean
+    CacheManager cacheManager(TieredCacheProperties properties, MeterRegistry meterRegistry) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(beerCache(BEER_CACHE, properties, meterRegistry),
+                beerCache(BEER_UPC_CACHE, properties, meterRegistry),
+                lruCache(BEER_LIST_CACHE, properties.getListMaxEntries(), meterRegistry),
+                lruCache(CUSTOMER_CACHE, properties.getCustomerMaxEntries(), meterRegistry)));
+        return cacheManager;
+    }
+
+    private LruCache lruCache(String name, int maxEntries, MeterRegistry meterRegistry) {
+        LruCache cache = new LruCache(name, maxEntries);
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+
+    private TieredCache<BeerDto> beerCache(String name, TieredCacheProperties properties, MeterRegistry meterRegistry) {
+        TieredCache<BeerDto> cache = new TieredCache<>(name, new BeerDtoCodec(), properties.getL1MaxEntries(),
+                Math.toIntExact(properties.getL2Capacity().toBytes()));
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,87 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encodings for beer payloads, negotiated through the Accept / Content-Type headers.
+ * <p>
+ * Registered through a {@link CodecCustomizer}, so the same codecs apply to the WebFlux server and to any
+ * {@code WebClient} built from the auto-configured {@code WebClient.Builder}.
+ */
+@Configuration
+public class CodecConfig {
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    @Bean
+    CodecCustomizer binaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        //build from Boot's builder so the binary formats share the JSON mapper's modules and features
+        ObjectMapper cborMapper = objectMapperBuilder.getObject()
+                                                     .factory(new CBORFactory())
+                                                     .build();
+        ObjectMapper smileMapper = objectMapperBuilder.getObject()
+                                                      .factory(new SmileFactory())
+                                                      .build();
+        ObjectMapper jsonMapper = objectMapperBuilder.getObject()
+                                                     .build();
+
+        //mime types must be explicit, the single-argument constructors fall back to the JSON mime types
+        //custom writers are consulted before the defaults, so JSON is registered ahead of CBOR to stay the
+        //first producible type when the client sends no Accept header (or */*)
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2JsonEncoder(jsonMapper));
+            configurer.customCodecs().register(new ValueCborEncoder(cborMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, APPLICATION_SMILE));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, APPLICATION_SMILE));
+        };
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} only implements {@code encodeValue}, while the WebFlux message writers always go
+     * through {@code encode}. Single values are encoded directly; multi-value publishers become one CBOR array.
+     */
+    static class ValueCborEncoder extends Jackson2CborEncoder {
+
+        ValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                           .flux();
+            }
+
+            return Flux.from(inputStream)
+                       .collectList()
+                       .map(values -> encodeValue(values, bufferFactory, ResolvableType.forClassWithGenerics(List.class, elementType), mimeType, hints))
+                       .flux();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.invalidation.CacheInvalidationBus;
+import guru.springframework.sfgrestbrewery.services.invalidation.InvalidationProperties;
+import guru.springframework.sfgrestbrewery.services.invalidation.LoopbackInvalidationBus;
+import guru.springframework.sfgrestbrewery.services.invalidation.MulticastInvalidationBus;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Picks the {@link CacheInvalidationBus} named by {@code sfg.brewery.invalidation.transport}.
+ */
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+
+    @Bean
+    CacheInvalidationBus cacheInvalidationBus(InvalidationProperties properties) throws IOException {
+        return switch (properties.getTransport()) {
+            case InvalidationProperties.LOOPBACK -> new LoopbackInvalidationBus(new LoopbackInvalidationBus.Topic());
+            case InvalidationProperties.MULTICAST -> new MulticastInvalidationBus(properties);
+            default -> throw new IllegalArgumentException("Unknown sfg.brewery.invalidation.transport: " + properties.getTransport());
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The DataSource for {@link guru.springframework.sfgrestbrewery.repositories.JdbcBeerStore}. Boot backs off its own
+ * DataSource as soon as an R2DBC ConnectionFactory exists, so the {@code jdbc} profile declares one from the usual
+ * {@code spring.datasource.*} properties; the JdbcTemplate auto-configuration picks it up from there.
+ */
+@Configuration
+@Profile("jdbc")
+public class JdbcConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                                   .type(HikariDataSource.class)
+                                   .build();
+    }
+}
@@ -0,0 +1,21 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.invalidation.CacheInvalidationRelay;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+
+/**
+ * Beans that must exist from the start even when {@code spring.main.lazy-initialization} is on (the
+ * {@code fast-start} profile), because nothing else asks for them: the schema initializer, and the relay that
+ * listens for invalidations from other nodes.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ConnectionFactoryInitializer.class, CacheInvalidationRelay.class);
+    }
+}
@@ -0,0 +1,56 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantThreadLocalAccessor;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderLineDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for the native image ({@code mvn -Pnative native:compile}). AOT processing finds
+ * what annotated controllers bind, but not the bodies of the functional v2 routes or the codec and client paths,
+ * so the wire types are registered here along with the pieces that are only loaded by name.
+ */
+@Configuration
+@ImportRuntimeHints(NativeConfig.BreweryRuntimeHints.class)
+public class NativeConfig {
+
+    static class BreweryRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            //Jackson reads and writes these reflectively, including BeerPagedList's @JsonCreator constructor
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    BeerDto.class, BeerPagedList.class, BeerPage.class, BeerChangeDto.class,
+                    CustomerDto.class, BeerOrderDto.class, BeerOrderLineDto.class);
+
+            //generated by MapStruct after this class compiles, so named rather than referenced
+            for (String mapper : new String[]{"BeerMapperImpl", "CustomerMapperImpl", "BeerOrderMapperImpl"}) {
+                hints.reflection().registerType(TypeReference.of("guru.springframework.sfgrestbrewery.web.mappers." + mapper),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+
+            //r2dbc-h2 is found through ServiceLoader from the r2dbc:h2 URL
+            hints.resources().registerPattern("META-INF/services/io.r2dbc.spi.ConnectionFactoryProvider");
+            hints.reflection().registerType(TypeReference.of("io.r2dbc.h2.H2ConnectionFactoryProvider"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(TypeReference.of("org.h2.Driver"), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            hints.resources().registerPattern("schema.sql");
+
+            //the tenant thread local is registered with context-propagation through ServiceLoader
+            hints.resources().registerPattern("META-INF/services/io.micrometer.context.ThreadLocalAccessor");
+            hints.reflection().registerType(TenantThreadLocalAccessor.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Runs the server on its own event loops, sized by {@code sfg.brewery.server.*}, instead of the loops it shares with
+ * outgoing clients. With {@code server.http2.enabled} Boot serves HTTP/1.1 plus h2c (cleartext HTTP/2, with prior
+ * knowledge or by upgrade) for internal callers; behind TLS it would be h2.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(NettyServerProperties.class)
+public class NettyServerConfig {
+
+    @Bean(destroyMethod = "dispose")
+    LoopResources serverLoopResources(NettyServerProperties properties) {
+        log.info("Server event loops: {} threads, {} select threads, native transport preferred: {}",
+                properties.getEventLoopThreads(), properties.getSelectThreads(), properties.isPreferNative());
+
+        return properties.getSelectThreads() > 0 ?
+                LoopResources.create("sfg-http", properties.getSelectThreads(), properties.getEventLoopThreads(), true) :
+                LoopResources.create("sfg-http", properties.getEventLoopThreads(), true);
+    }
+
+    @Bean
+    NettyServerCustomizer eventLoopCustomizer(LoopResources serverLoopResources, NettyServerProperties properties) {
+        return httpServer -> httpServer.runOn(serverLoopResources, properties.isPreferNative())
+                                       .http2Settings(settings -> settings.maxConcurrentStreams(properties.getHttp2MaxConcurrentStreams()));
+    }
+}
@@ -0,0 +1,34 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Event loop settings for the Netty server, bound from {@code sfg.brewery.server.*}. Timeouts and HTTP/2 itself are
+ * Spring Boot's {@code server.netty.*} and {@code server.http2.enabled}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.server")
+public class NettyServerProperties {
+
+    /**
+     * Threads that handle connections. Reactor Netty's default is one per core, at least four.
+     */
+    private int eventLoopThreads = LoopResources.DEFAULT_IO_WORKER_COUNT;
+
+    /**
+     * Threads that only accept connections, 0 or less to let the event loop threads accept as well.
+     */
+    private int selectThreads = -1;
+
+    /**
+     * Use the native transport (epoll on Linux) when it is on the classpath, otherwise NIO.
+     */
+    private boolean preferNative = true;
+
+    /**
+     * Streams one HTTP/2 connection may have in flight.
+     */
+    private long http2MaxConcurrentStreams = 256;
+}
@@ -0,0 +1,19 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.rsocket.RSocketTenancy;
+import org.springframework.boot.rsocket.messaging.RSocketStrategiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Extracts the tenant metadata entry of RSocket requests into a message header, see {@link RSocketTenancy}.
+ */
+@Configuration
+public class RSocketConfig {
+
+    @Bean
+    RSocketStrategiesCustomizer tenantMetadataCustomizer() {
+        return strategies -> strategies.metadataExtractorRegistry(registry ->
+                registry.metadataToExtract(RSocketTenancy.TENANT_MIME_TYPE, String.class, RSocketTenancy.TENANT_HEADER));
+    }
+}
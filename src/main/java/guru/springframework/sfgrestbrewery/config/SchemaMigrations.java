@@ -0,0 +1,106 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.Money;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.CompositeDatabasePopulator;
+import org.springframework.r2dbc.connection.init.DatabasePopulator;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Brings a database created by an earlier release up to the current {@code schema.sql}, which only creates what is
+ * missing and so never changes a column that already exists. Each migration looks for the old shape in the
+ * information schema and does nothing when it is not there, so new and already migrated databases are left alone.
+ * <p>
+ * Statements are written for H2, the only database the application runs on.
+ */
+@Slf4j
+public class SchemaMigrations implements DatabasePopulator {
+
+    static final List<Migration> MIGRATIONS = List.of(
+            //prices were stored as an unbounded decimal; rows with more digits than the currency are rounded half up
+            new Migration("beer.price to beer.price_minor",
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'BEER' AND COLUMN_NAME = 'PRICE'",
+                    List.of("ALTER TABLE beer ADD COLUMN IF NOT EXISTS price_minor bigint",
+                            "UPDATE beer SET price_minor = CAST(ROUND(price, " + fractionDigits() + ") * " + minorUnitsPerUnit() +
+                                    " AS bigint) WHERE price IS NOT NULL",
+                            "ALTER TABLE beer DROP COLUMN price")),
+            //styles were stored by name; a name no style has any more becomes null
+            new Migration("beer.beer_style names to codes",
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'BEER' AND COLUMN_NAME = 'BEER_STYLE' " +
+                            "AND DATA_TYPE = 'CHARACTER VARYING'",
+                    List.of("ALTER TABLE beer ADD COLUMN IF NOT EXISTS beer_style_code smallint",
+                            "UPDATE beer SET beer_style_code = " + styleCodes(),
+                            "DROP INDEX IF EXISTS beer_style_idx",
+                            "ALTER TABLE beer DROP COLUMN beer_style",
+                            "ALTER TABLE beer ALTER COLUMN beer_style_code RENAME TO beer_style")),
+            //rows never had a version, and a null one makes Spring Data insert the beer again instead of updating it
+            new Migration("beer.version not null",
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS " +
+                            "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'BEER' AND COLUMN_NAME = 'VERSION' " +
+                            "AND IS_NULLABLE = 'YES'",
+                    List.of("UPDATE beer SET version = 0 WHERE version IS NULL",
+                            "ALTER TABLE beer ALTER COLUMN version SET DEFAULT 0",
+                            "ALTER TABLE beer ALTER COLUMN version SET NOT NULL")));
+
+    /**
+     * The migrations followed by {@code schema.sql}, for every database the application initializes.
+     */
+    public static DatabasePopulator schemaPopulator() {
+        return new CompositeDatabasePopulator(new SchemaMigrations(), new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+    }
+
+    @Override
+    public Mono<Void> populate(Connection connection) {
+        return Flux.fromIterable(MIGRATIONS)
+                   .concatMap(migration -> isPending(connection, migration)
+                           .filter(Boolean::booleanValue)
+                           .flatMap(pending -> apply(connection, migration)))
+                   .then();
+    }
+
+    private Mono<Boolean> isPending(Connection connection, Migration migration) {
+        return Mono.from(connection.createStatement(migration.pendingQuery()).execute())
+                   .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class))))
+                   .map(count -> count > 0);
+    }
+
+    private Mono<Void> apply(Connection connection, Migration migration) {
+        log.info("Migrating schema: {}", migration.description());
+        return Flux.fromIterable(migration.statements())
+                   .concatMap(sql -> Flux.from(connection.createStatement(sql).execute())
+                                         .flatMap(Result::getRowsUpdated))
+                   .then();
+    }
+
+    private static String styleCodes() {
+        return Arrays.stream(BeerStyleEnum.values())
+                     .map(style -> "WHEN '" + style.name() + "' THEN " + style.getCode())
+                     .collect(Collectors.joining(" ", "CASE beer_style ", " END"));
+    }
+
+    private static int fractionDigits() {
+        return Money.CATALOGUE_CURRENCY.getDefaultFractionDigits();
+    }
+
+    private static long minorUnitsPerUnit() {
+        return (long) Math.pow(10, fractionDigits());
+    }
+
+    /**
+     * @param pendingQuery a count that is positive while the database still has the old shape
+     */
+    record Migration(String description, String pendingQuery, List<String> statements) {
+    }
+}
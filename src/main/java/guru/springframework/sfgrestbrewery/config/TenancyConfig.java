@@ -0,0 +1,135 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes every R2DBC connection to the database of the request's tenant. Boot's pool stays the connection factory of
+ * the default tenant and is wrapped, rather than replaced, so {@code spring.r2dbc.*} keeps configuring it. Each tenant
+ * under {@code sfg.brewery.tenancy.tenants} gets a small pool of its own, which starts empty, so idle tenants hold no
+ * connections.
+ * <p>
+ * Transactions work unchanged: the transaction manager binds the routed connection for the whole transaction.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+    private static final String CONNECTION_FACTORY_BEAN = "connectionFactory";
+
+    @Bean(destroyMethod = "dispose")
+    TenantConnectionPools tenantConnectionPools(TenancyProperties properties) {
+        return new TenantConnectionPools(properties);
+    }
+
+    //static, so it is in place before the connection factory it wraps is created
+    @Bean
+    static BeanPostProcessor tenantRoutingPostProcessor(ObjectProvider<TenancyProperties> properties,
+                                                        ObjectProvider<TenantConnectionPools> tenantPools) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (CONNECTION_FACTORY_BEAN.equals(beanName) && bean instanceof ConnectionFactory connectionFactory &&
+                        properties.getObject().isEnabled()) {
+                    return new TenantRoutingConnectionFactory(connectionFactory, tenantPools.getObject().pools);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static class TenantConnectionPools implements Disposable {
+        private final Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+
+        TenantConnectionPools(TenancyProperties properties) {
+            if (!properties.isEnabled()) {
+                return;
+            }
+
+            properties.getTenants().forEach((tenant, settings) -> {
+                ConnectionFactoryBuilder builder = ConnectionFactoryBuilder.withUrl(settings.getUrl());
+                if (settings.getUsername() != null) {
+                    builder = builder.username(settings.getUsername())
+                                     .password(settings.getPassword() != null ? settings.getPassword() : "");
+                }
+                ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(builder.build())
+                                                                                    .name("tenant-" + tenant)
+                                                                                    .initialSize(0)
+                                                                                    .maxSize(settings.getMaxPoolSize())
+                                                                                    .maxIdleTime(settings.getMaxIdleTime())
+                                                                                    .build());
+                if (settings.isInitializeSchema()) {
+                    SchemaMigrations.schemaPopulator()
+                                    .populate(pool)
+                                    .block();
+                }
+                pools.put(tenant, pool);
+                log.info("Tenant {} routed to its own pool of up to {} connections", tenant, settings.getMaxPoolSize());
+            });
+        }
+
+        @Override
+        public void dispose() {
+            pools.values()
+                 .forEach(ConnectionPool::dispose);
+        }
+    }
+
+    /**
+     * Unwraps to the default tenant's pool, so Boot's pool metrics and health checks keep reporting it.
+     */
+    static class TenantRoutingConnectionFactory extends AbstractRoutingConnectionFactory
+            implements Wrapped<ConnectionFactory>, Disposable {
+        private final ConnectionFactory defaultConnectionFactory;
+
+        TenantRoutingConnectionFactory(ConnectionFactory defaultConnectionFactory, Map<String, ? extends ConnectionFactory> tenantPools) {
+            this.defaultConnectionFactory = defaultConnectionFactory;
+
+            Map<String, ConnectionFactory> targets = new HashMap<>(tenantPools);
+            targets.put(TenantContext.DEFAULT_TENANT, defaultConnectionFactory);
+            setTargetConnectionFactories(targets);
+            //also answers getMetadata(), which the dialect detection asks before any tenant is known
+            setDefaultTargetConnectionFactory(defaultConnectionFactory);
+            //a tenant without a pool must never fall through to the default tenant's data
+            setLenientFallback(false);
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Mono<Object> determineCurrentLookupKey() {
+            return TenantContext.currentTenant()
+                                .cast(Object.class);
+        }
+
+        @Override
+        public ConnectionFactory unwrap() {
+            return defaultConnectionFactory;
+        }
+
+        //Boot declares dispose as the destroy method of the bean this replaces
+        @Override
+        public void dispose() {
+            if (defaultConnectionFactory instanceof Disposable disposable) {
+                disposable.dispose();
+            }
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package guru.springframework.sfgrestbrewery.domain;
 
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
 //import org.hibernate.annotations.CreationTimestamp;
 //import org.hibernate.annotations.GenericGenerator;
 //import org.hibernate.annotations.Type;
@@ -34,7 +39,7 @@ public class Beer {
     @Id
     private Integer id;
 
-//    @Version
+    @Version
     private Long version;
 
     private String beerName;
@@ -42,12 +47,30 @@ public class Beer {
     private String upc;
 
     private Integer quantityOnHand;
-    private BigDecimal price;
+
+    //minor units of the catalogue currency
+    @Column("price_minor")
+    private Money price;
 
 //    @CreationTimestamp
 //    @Column(updatable = false)
+    @CreatedDate
     private LocalDateTime createdDate;
 
 //    @UpdateTimestamp
+    @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    public static class BeerBuilder {
+
+        public BeerBuilder price(BigDecimal price) {
+            this.price = Money.of(price);
+            return this;
+        }
+
+        public BeerBuilder price(Money price) {
+            this.price = price;
+            return this;
+        }
+    }
 }
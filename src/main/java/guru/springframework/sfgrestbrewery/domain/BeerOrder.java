@@ -0,0 +1,40 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Order header. Lines live in {@link BeerOrderLine} and reference the order by id, there is no object graph.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerOrder {
+    //UUIDv7, so ordering by id is ordering by placement time
+    @Id
+    private UUID id;
+
+    @Version
+    private Long version;
+
+    private UUID customerId;
+
+    private BeerOrderStatusEnum orderStatus;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+}
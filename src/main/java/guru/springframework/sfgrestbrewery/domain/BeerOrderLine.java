@@ -0,0 +1,24 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerOrderLine {
+    @Id
+    private Integer id;
+
+    private UUID beerOrderId;
+
+    private Integer beerId;
+
+    private Integer orderQuantity;
+}
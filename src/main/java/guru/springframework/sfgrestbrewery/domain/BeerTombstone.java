@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind when a beer is deleted, so incremental sync clients can see the removal.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerTombstone {
+
+    @Id
+    private Integer id;
+
+    private Integer beerId;
+    private String upc;
+
+    @CreatedDate
+    private LocalDateTime deletedDate;
+}
@@ -4,7 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -15,6 +20,18 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 public class Customer {
+    //the id is assigned by the service, so a null version is what marks the row as new
+    @Id
     private UUID id;
+
+    @Version
+    private Long version;
+
     private String name;
+
+    @CreatedDate
+    private LocalDateTime createdDate;
+
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
 }
@@ -0,0 +1,49 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562): 48 bits of Unix epoch millis, then a 12 bit counter and 62 random bits.
+ * <p>
+ * Ids created later sort after earlier ones, so primary key inserts append to the right-hand edge of the index
+ * instead of splitting random pages. The counter keeps ids from the same millisecond ordered; if it overflows, the
+ * timestamp is advanced by a millisecond rather than giving up ordering.
+ */
+public final class UuidV7Generator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID next() {
+        long millis;
+        int sequence;
+
+        synchronized (UuidV7Generator.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                //start low with a random offset, so the counter rarely overflows and ids stay hard to guess
+                counter = RANDOM.nextInt(MAX_COUNTER / 2);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long mostSigBits = (millis << 16) | 0x7000L | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
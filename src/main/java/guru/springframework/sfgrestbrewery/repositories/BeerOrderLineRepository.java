@@ -0,0 +1,19 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.BeerOrderLine;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface BeerOrderLineRepository extends ReactiveCrudRepository<BeerOrderLine, Integer> {
+    Flux<BeerOrderLine> findAllByBeerOrderIdIn(Collection<UUID> beerOrderIds);
+
+    /**
+     * Ids of the beers ordered in the largest quantities, most ordered first.
+     */
+    @Query("SELECT beer_id FROM beer_order_line GROUP BY beer_id ORDER BY sum(order_quantity) DESC LIMIT :limit")
+    Flux<Integer> findMostOrderedBeerIds(int limit);
+}
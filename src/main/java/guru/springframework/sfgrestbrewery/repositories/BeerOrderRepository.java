@@ -0,0 +1,9 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.BeerOrder;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import java.util.UUID;
+
+public interface BeerOrderRepository extends ReactiveCrudRepository<BeerOrder, UUID> {
+}
@@ -2,13 +2,34 @@ package guru.springframework.sfgrestbrewery.repositories;
 
 
 import guru.springframework.sfgrestbrewery.domain.Beer;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 
 public interface BeerRepository extends ReactiveCrudRepository<Beer, Integer> {
     Mono<Beer> findByUpc(String upc);
 
+    Flux<Beer> findAllByUpcIn(Collection<String> upcs);
+
+    Flux<Beer> findAllByLastModifiedDateGreaterThanEqualOrderByLastModifiedDateAscIdAsc(LocalDateTime since);
+
+    /**
+     * Takes {@code quantity} off the stock in one conditional statement, so concurrent orders cannot oversell.
+     * Also bumps the version and modified date, which keeps ETags and the change feed honest.
+     *
+     * @return 1 when the stock was reserved, 0 when there was not enough of it
+     */
+    @Modifying
+    @Query("UPDATE beer SET quantity_on_hand = quantity_on_hand - :quantity, version = version + 1, last_modified_date = LOCALTIMESTAMP " +
+            "WHERE id = :beerId AND quantity_on_hand >= :quantity")
+    Mono<Integer> reserveInventory(Integer beerId, Integer quantity);
+
 //    Page<Beer> findAllByBeerName(String beerName, Pageable pageable);
 //
 //    Page<Beer> findAllByBeerStyle(BeerStyleEnum beerStyle, Pageable pageable);
@@ -0,0 +1,83 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.BeerTombstone;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.SortedMap;
+
+/**
+ * Beer storage as {@code BeerServiceImpl} uses it, independent of the database driver underneath.
+ * <p>
+ * {@link R2dbcBeerStore} is the default. The {@code jdbc} profile swaps in {@link JdbcBeerStore}, which runs
+ * blocking JDBC on virtual threads. Null {@code beerName} / {@code beerStyle} filters match every beer.
+ * <p>
+ * The list queries select only the columns of the given {@code fields}, leaving the other properties of the returned
+ * beers null. Pass {@link BeerField#ALL} for complete beers.
+ */
+public interface BeerStore {
+
+    Mono<Beer> findById(Integer beerId);
+
+    Mono<Beer> findByUpc(String upc);
+
+    /**
+     * One {@code IN} query for all the given ids, in no particular order. Ids without a beer are left out.
+     */
+    Flux<Beer> findAllById(Collection<Integer> beerIds);
+
+    /**
+     * One {@code IN} query for all the given UPCs, in no particular order. UPCs without a beer are left out.
+     */
+    Flux<Beer> findAllByUpc(Collection<String> upcs);
+
+    /**
+     * Offset paging, ordered by the pageable's sort (unordered if it has none).
+     */
+    Flux<Beer> findAll(String beerName, BeerStyleEnum beerStyle, Pageable pageable, Set<BeerField> fields);
+
+    /**
+     * Keyset paging: up to {@code limit} beers with an id above {@code afterId}, in id order.
+     */
+    Flux<Beer> findAllAfter(String beerName, BeerStyleEnum beerStyle, Integer afterId, int limit, Set<BeerField> fields);
+
+    Mono<Long> count(String beerName, BeerStyleEnum beerStyle);
+
+    /**
+     * Inserts a beer without a version, otherwise updates it, failing with
+     * {@link org.springframework.dao.OptimisticLockingFailureException} if it changed in the meantime.
+     */
+    Mono<Beer> save(Beer beer);
+
+    /**
+     * Takes the given quantities off the stock of each beer and bumps its version, in beer id order so that two
+     * reservations for the same beers cannot deadlock. All or nothing: when a beer is short of stock it fails with
+     * {@link InsufficientInventoryException} and no stock is taken. {@link R2dbcBeerStore} joins a transaction the
+     * caller has open.
+     */
+    Mono<Void> reserveInventory(SortedMap<Integer, Integer> quantities);
+
+    /**
+     * Deletes the beer and records a tombstone for the change feed.
+     */
+    Mono<Void> deleteWithTombstone(Beer beer);
+
+    /**
+     * Beers modified at or after {@code since}, oldest first. Inclusive, so rows that share the last timestamp a
+     * reader saw are read again instead of skipped.
+     */
+    Flux<Beer> findModifiedSince(LocalDateTime since);
+
+    /**
+     * Tombstones recorded at or after {@code since}, oldest first; inclusive like {@link #findModifiedSince}.
+     */
+    Flux<BeerTombstone> findDeletedSince(LocalDateTime since);
+}
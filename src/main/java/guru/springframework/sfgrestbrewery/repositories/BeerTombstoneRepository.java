@@ -0,0 +1,11 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.BeerTombstone;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+public interface BeerTombstoneRepository extends ReactiveCrudRepository<BeerTombstone, Integer> {
+    Flux<BeerTombstone> findAllByDeletedDateGreaterThanEqualOrderByDeletedDateAscIdAsc(LocalDateTime since);
+}
@@ -0,0 +1,9 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Customer;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+import java.util.UUID;
+
+public interface CustomerRepository extends ReactiveCrudRepository<Customer, UUID> {
+}
@@ -0,0 +1,299 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.BeerTombstone;
+import guru.springframework.sfgrestbrewery.services.BlockingCalls;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.Money;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@link BeerStore} on plain JDBC, active with the {@code jdbc} profile. Every statement is a blocking call made
+ * through {@link BlockingCalls}, so it runs on a virtual thread and parks there instead of holding an event loop.
+ * <p>
+ * Without Spring Data in the way, versioning and audit dates are done here by hand, matching what R2DBC does:
+ * new beers start at version 0 and updates are conditional on the version that was read.
+ */
+@Component
+@Profile("jdbc")
+public class JdbcBeerStore implements BeerStore {
+    private static final String BEER_COLUMNS = columns(BeerField.ALL);
+
+    //sortable properties and their columns, anything else in a Pageable is ignored rather than pasted into SQL
+    private static final Map<String, String> SORT_COLUMNS = Map.of("id", "id",
+            "beerName", "beer_name",
+            "beerStyle", "beer_style",
+            "upc", "upc",
+            "price", "price_minor",
+            "quantityOnHand", "quantity_on_hand",
+            "lastModifiedDate", "last_modified_date");
+
+    private static final RowMapper<Beer> BEER_ROW_MAPPER = beerRowMapper(BeerField.ALL);
+
+    private static final RowMapper<BeerTombstone> TOMBSTONE_ROW_MAPPER = (rs, rowNum) -> BeerTombstone.builder()
+                                                                                                      .id(rs.getInt("id"))
+                                                                                                      .beerId(rs.getInt("beer_id"))
+                                                                                                      .upc(rs.getString("upc"))
+                                                                                                      .deletedDate(rs.getObject("deleted_date", LocalDateTime.class))
+                                                                                                      .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingCalls blockingCalls;
+
+    public JdbcBeerStore(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource, BlockingCalls blockingCalls) {
+        this.jdbcTemplate = jdbcTemplate;
+        //kept local: a PlatformTransactionManager bean would compete with the R2DBC one for @Transactional
+        this.transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+        this.blockingCalls = blockingCalls;
+    }
+
+    @Override
+    public Mono<Beer> findById(Integer beerId) {
+        return blockingCalls.mono(() -> jdbcTemplate.query("SELECT " + BEER_COLUMNS + " FROM beer WHERE id = :id",
+                                                           Map.of("id", beerId), BEER_ROW_MAPPER)
+                                                    .stream()
+                                                    .findFirst()
+                                                    .orElse(null));
+    }
+
+    @Override
+    public Mono<Beer> findByUpc(String upc) {
+        return blockingCalls.mono(() -> jdbcTemplate.query("SELECT " + BEER_COLUMNS + " FROM beer WHERE upc = :upc LIMIT 1",
+                                                           Map.of("upc", upc), BEER_ROW_MAPPER)
+                                                    .stream()
+                                                    .findFirst()
+                                                    .orElse(null));
+    }
+
+    //NamedParameterJdbcTemplate expands a collection parameter into one placeholder per element
+    @Override
+    public Flux<Beer> findAllById(Collection<Integer> beerIds) {
+        if (beerIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return blockingCalls.flux(() -> jdbcTemplate.query("SELECT " + BEER_COLUMNS + " FROM beer WHERE id IN (:ids)",
+                                                           Map.of("ids", beerIds), BEER_ROW_MAPPER));
+    }
+
+    @Override
+    public Flux<Beer> findAllByUpc(Collection<String> upcs) {
+        if (upcs.isEmpty()) {
+            return Flux.empty();
+        }
+        return blockingCalls.flux(() -> jdbcTemplate.query("SELECT " + BEER_COLUMNS + " FROM beer WHERE upc IN (:upcs)",
+                                                           Map.of("upcs", upcs), BEER_ROW_MAPPER));
+    }
+
+    @Override
+    public Flux<Beer> findAll(String beerName, BeerStyleEnum beerStyle, Pageable pageable, Set<BeerField> fields) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT " + columns(fields) + " FROM beer" + where(beerName, beerStyle, params) + orderBy(pageable.getSort());
+
+        if (pageable.isPaged()) {
+            sql += " LIMIT :limit OFFSET :offset";
+            params.addValue("limit", pageable.getPageSize())
+                  .addValue("offset", pageable.getOffset());
+        }
+
+        String query = sql;
+        return blockingCalls.flux(() -> jdbcTemplate.query(query, params, rowMapper(fields)));
+    }
+
+    @Override
+    public Flux<Beer> findAllAfter(String beerName, BeerStyleEnum beerStyle, Integer afterId, int limit, Set<BeerField> fields) {
+        MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+        String where = where(beerName, beerStyle, params);
+        String sql = "SELECT " + columns(fields) + " FROM beer" + (where.isEmpty() ? " WHERE" : where + " AND") +
+                " id > :afterId ORDER BY id LIMIT :limit";
+
+        return blockingCalls.flux(() -> jdbcTemplate.query(sql, params, rowMapper(fields)));
+    }
+
+    private static String columns(Set<BeerField> fields) {
+        return fields.stream()
+                     .map(BeerField::getColumn)
+                     .collect(Collectors.joining(", "));
+    }
+
+    private static RowMapper<Beer> rowMapper(Set<BeerField> fields) {
+        return fields.containsAll(BeerField.ALL) ? BEER_ROW_MAPPER : beerRowMapper(fields);
+    }
+
+    //reads only the selected columns, the other properties stay null
+    private static RowMapper<Beer> beerRowMapper(Set<BeerField> fields) {
+        return (rs, rowNum) -> {
+            Beer beer = new Beer();
+            if (fields.contains(BeerField.ID)) {
+                beer.setId(rs.getInt("id"));
+            }
+            if (fields.contains(BeerField.VERSION)) {
+                beer.setVersion(rs.getLong("version"));
+            }
+            if (fields.contains(BeerField.BEER_NAME)) {
+                beer.setBeerName(rs.getString("beer_name"));
+            }
+            if (fields.contains(BeerField.BEER_STYLE)) {
+                short beerStyle = rs.getShort("beer_style");
+                beer.setBeerStyle(rs.wasNull() ? null : BeerStyleEnum.fromCode(beerStyle));
+            }
+            if (fields.contains(BeerField.UPC)) {
+                beer.setUpc(rs.getString("upc"));
+            }
+            if (fields.contains(BeerField.QUANTITY_ON_HAND)) {
+                beer.setQuantityOnHand(rs.getObject("quantity_on_hand", Integer.class));
+            }
+            if (fields.contains(BeerField.PRICE)) {
+                long price = rs.getLong("price_minor");
+                beer.setPrice(rs.wasNull() ? null : Money.ofMinor(price));
+            }
+            if (fields.contains(BeerField.CREATED_DATE)) {
+                beer.setCreatedDate(rs.getObject("created_date", LocalDateTime.class));
+            }
+            if (fields.contains(BeerField.LAST_UPDATED_DATE)) {
+                beer.setLastModifiedDate(rs.getObject("last_modified_date", LocalDateTime.class));
+            }
+            return beer;
+        };
+    }
+
+    @Override
+    public Mono<Long> count(String beerName, BeerStyleEnum beerStyle) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = "SELECT count(*) FROM beer" + where(beerName, beerStyle, params);
+
+        return blockingCalls.mono(() -> jdbcTemplate.queryForObject(sql, params, Long.class));
+    }
+
+    private String where(String beerName, BeerStyleEnum beerStyle, MapSqlParameterSource params) {
+        StringBuilder where = new StringBuilder();
+
+        if (StringUtils.hasText(beerName)) {
+            where.append(" WHERE beer_name = :beerName");
+            params.addValue("beerName", beerName);
+        }
+        if (beerStyle != null) {
+            where.append(where.isEmpty() ? " WHERE" : " AND").append(" beer_style = :beerStyle");
+            params.addValue("beerStyle", beerStyle.getCode());
+        }
+        return where.toString();
+    }
+
+    private String orderBy(Sort sort) {
+        String columns = sort.stream()
+                             .filter(order -> SORT_COLUMNS.containsKey(order.getProperty()))
+                             .map(order -> SORT_COLUMNS.get(order.getProperty()) + " " + order.getDirection().name())
+                             .collect(Collectors.joining(", "));
+
+        return columns.isEmpty() ? "" : " ORDER BY " + columns;
+    }
+
+    @Override
+    public Mono<Beer> save(Beer beer) {
+        return blockingCalls.mono(() -> beer.getVersion() == null ? insert(beer) : update(beer));
+    }
+
+    private Beer insert(Beer beer) {
+        LocalDateTime now = LocalDateTime.now();
+        beer.setVersion(0L);
+        beer.setCreatedDate(now);
+        beer.setLastModifiedDate(now);
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update("INSERT INTO beer (version, beer_name, beer_style, upc, quantity_on_hand, price_minor, created_date, last_modified_date) " +
+                        "VALUES (:version, :beerName, :beerStyle, :upc, :quantityOnHand, :price, :createdDate, :lastModifiedDate)",
+                beerParams(beer), keyHolder, new String[]{"id"});
+
+        beer.setId(keyHolder.getKeyAs(Integer.class));
+        return beer;
+    }
+
+    private Beer update(Beer beer) {
+        Long readVersion = beer.getVersion();
+        beer.setVersion(readVersion + 1);
+        beer.setLastModifiedDate(LocalDateTime.now());
+
+        int updated = jdbcTemplate.update("UPDATE beer SET version = :version, beer_name = :beerName, beer_style = :beerStyle, upc = :upc, " +
+                        "quantity_on_hand = :quantityOnHand, price_minor = :price, last_modified_date = :lastModifiedDate " +
+                        "WHERE id = :id AND version = :readVersion",
+                beerParams(beer).addValue("id", beer.getId())
+                                .addValue("readVersion", readVersion));
+
+        if (updated == 0) {
+            beer.setVersion(readVersion);
+            throw new OptimisticLockingFailureException("Beer " + beer.getId() + " changed since version " + readVersion + " was read");
+        }
+        return beer;
+    }
+
+    private MapSqlParameterSource beerParams(Beer beer) {
+        return new MapSqlParameterSource().addValue("version", beer.getVersion())
+                                          .addValue("beerName", beer.getBeerName())
+                                          .addValue("beerStyle", beer.getBeerStyle() == null ? null : beer.getBeerStyle().getCode())
+                                          .addValue("upc", beer.getUpc())
+                                          .addValue("quantityOnHand", beer.getQuantityOnHand())
+                                          .addValue("price", beer.getPrice() == null ? null : beer.getPrice().catalogueMinorUnits())
+                                          .addValue("createdDate", beer.getCreatedDate())
+                                          .addValue("lastModifiedDate", beer.getLastModifiedDate());
+    }
+
+    @Override
+    public Mono<Void> reserveInventory(SortedMap<Integer, Integer> quantities) {
+        return blockingCalls.run(() -> transactionTemplate.executeWithoutResult(status -> quantities.forEach((beerId, quantity) -> {
+            int updated = jdbcTemplate.update("UPDATE beer SET quantity_on_hand = quantity_on_hand - :quantity, version = version + 1, " +
+                            "last_modified_date = :lastModifiedDate WHERE id = :id AND quantity_on_hand >= :quantity",
+                    new MapSqlParameterSource("id", beerId).addValue("quantity", quantity)
+                                                           .addValue("lastModifiedDate", LocalDateTime.now()));
+            if (updated == 0) {
+                //rolls back the reservations already made
+                throw new InsufficientInventoryException(beerId);
+            }
+        })));
+    }
+
+    @Override
+    public Mono<Void> deleteWithTombstone(Beer beer) {
+        return blockingCalls.run(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM beer WHERE id = :id", Map.of("id", beer.getId()));
+            jdbcTemplate.update("INSERT INTO beer_tombstone (beer_id, upc, deleted_date) VALUES (:beerId, :upc, :deletedDate)",
+                    new MapSqlParameterSource("beerId", beer.getId()).addValue("upc", beer.getUpc())
+                                                                     .addValue("deletedDate", LocalDateTime.now()));
+        }));
+    }
+
+    @Override
+    public Flux<Beer> findModifiedSince(LocalDateTime since) {
+        return blockingCalls.flux(() -> jdbcTemplate.query("SELECT " + BEER_COLUMNS + " FROM beer WHERE last_modified_date >= :since ORDER BY last_modified_date, id",
+                Map.of("since", since), BEER_ROW_MAPPER));
+    }
+
+    @Override
+    public Flux<BeerTombstone> findDeletedSince(LocalDateTime since) {
+        return blockingCalls.flux(() -> jdbcTemplate.query("SELECT id, beer_id, upc, deleted_date FROM beer_tombstone WHERE deleted_date >= :since ORDER BY deleted_date, id",
+                Map.of("since", since), TOMBSTONE_ROW_MAPPER));
+    }
+}
@@ -0,0 +1,142 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.BeerTombstone;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.SortedMap;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+@Component
+@Profile("!jdbc")
+@RequiredArgsConstructor
+public class R2dbcBeerStore implements BeerStore {
+    private final BeerRepository beerRepository;
+    private final BeerTombstoneRepository beerTombstoneRepository;
+    private final R2dbcEntityTemplate template;
+    private final TransactionalOperator transactionalOperator;
+
+    @Override
+    public Mono<Beer> findById(Integer beerId) {
+        return beerRepository.findById(beerId);
+    }
+
+    @Override
+    public Mono<Beer> findByUpc(String upc) {
+        return beerRepository.findByUpc(upc);
+    }
+
+    @Override
+    public Flux<Beer> findAllById(Collection<Integer> beerIds) {
+        return beerRepository.findAllById(beerIds);
+    }
+
+    @Override
+    public Flux<Beer> findAllByUpc(Collection<String> upcs) {
+        return beerRepository.findAllByUpcIn(upcs);
+    }
+
+    @Override
+    public Flux<Beer> findAll(String beerName, BeerStyleEnum beerStyle, Pageable pageable, Set<BeerField> fields) {
+        return template.select(Beer.class)
+                       .matching(project(query(buildCriteria(beerName, beerStyle)).with(pageable), fields))
+                       .all();
+    }
+
+    @Override
+    public Flux<Beer> findAllAfter(String beerName, BeerStyleEnum beerStyle, Integer afterId, int limit, Set<BeerField> fields) {
+        return template.select(Beer.class)
+                       .matching(project(query(buildCriteria(beerName, beerStyle).and("id").greaterThan(afterId))
+                               .sort(Sort.by("id"))
+                               .limit(limit), fields))
+                       .all();
+    }
+
+    //the entity reader skips properties whose column is missing from the row, leaving them null
+    private Query project(Query query, Set<BeerField> fields) {
+        if (fields.containsAll(BeerField.ALL)) {
+            return query;
+        }
+        return query.columns(fields.stream()
+                                   .map(BeerField::getColumn)
+                                   .toArray(String[]::new));
+    }
+
+    @Override
+    public Mono<Long> count(String beerName, BeerStyleEnum beerStyle) {
+        return template.count(query(buildCriteria(beerName, beerStyle)), Beer.class);
+    }
+
+    private Criteria buildCriteria(String beerName, BeerStyleEnum beerStyle) {
+        if (!StringUtils.isEmpty(beerName) && !StringUtils.isEmpty(beerStyle)) {
+            //search both
+            return where("beerName").is(beerName)
+                                    .and("beerStyle")
+                                    .is(beerStyle);
+        } else if (!StringUtils.isEmpty(beerName) && StringUtils.isEmpty(beerStyle)) {
+            //search beer_service name
+            return where("beerName").is(beerName);
+        } else if (StringUtils.isEmpty(beerName) && !StringUtils.isEmpty(beerStyle)) {
+            //search beer_service style
+            return where("beerStyle").is(beerStyle);
+        } else {
+            return Criteria.empty();
+        }
+    }
+
+    @Override
+    public Mono<Beer> save(Beer beer) {
+        return beerRepository.save(beer);
+    }
+
+    @Override
+    public Mono<Void> reserveInventory(SortedMap<Integer, Integer> quantities) {
+        return Flux.fromIterable(quantities.entrySet())
+                   .concatMap(entry -> beerRepository.reserveInventory(entry.getKey(), entry.getValue())
+                                                     .filter(updated -> updated > 0)
+                                                     .switchIfEmpty(Mono.error(() -> new InsufficientInventoryException(entry.getKey()))))
+                   .then()
+                   .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Void> deleteWithTombstone(Beer beer) {
+        //one transaction, so a beer is never gone without the tombstone that tells the change feed
+        return beerRepository.deleteById(beer.getId())
+                             .then(beerTombstoneRepository.save(BeerTombstone.builder()
+                                                                             .beerId(beer.getId())
+                                                                             .upc(beer.getUpc())
+                                                                             .build()))
+                             .then()
+                             .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<Beer> findModifiedSince(LocalDateTime since) {
+        return beerRepository.findAllByLastModifiedDateGreaterThanEqualOrderByLastModifiedDateAscIdAsc(since);
+    }
+
+    @Override
+    public Flux<BeerTombstone> findDeletedSince(LocalDateTime since) {
+        return beerTombstoneRepository.findAllByDeletedDateGreaterThanEqualOrderByDeletedDateAscIdAsc(since);
+    }
+}
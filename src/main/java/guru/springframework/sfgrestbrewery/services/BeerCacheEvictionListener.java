@@ -0,0 +1,54 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.services.cache.KeyFilteredCache;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_LIST_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_UPC_CACHE;
+
+/**
+ * Evicts the beer caches once a write has actually completed, driven by the event the service publishes after it
+ * commits rather than by {@code @CacheEvict} on each service method.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BeerCacheEvictionListener {
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        log.debug("Evicting cached beer {} of tenant {}", event.beerId(), event.tenant());
+
+        if (event.beerId() != null) {
+            evict(BEER_CACHE, TenantKey.of(event.tenant(), event.beerId()));
+        }
+        //an update may have changed the upc, so the previous key is unknown here; other tenants' entries are left alone
+        clearTenant(BEER_UPC_CACHE, event.tenant());
+        clearTenant(BEER_LIST_CACHE, event.tenant());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clearTenant(String cacheName, String tenant) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof KeyFilteredCache filtered) {
+            filtered.evictIf(key -> TenantKey.belongsTo(key, tenant));
+        } else if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+
+/**
+ * Published after a beer has been updated or deleted, so anything holding a copy of it can drop that copy.
+ * <p>
+ * {@code version} is the version the change produced, or null when it is not known. {@code remote} marks events
+ * relayed from another node by the {@link guru.springframework.sfgrestbrewery.services.invalidation.CacheInvalidationBus},
+ * which are applied locally but not broadcast again. {@code tenant} owns the beer; ids are only unique within a tenant.
+ */
+public record BeerChangedEvent(String tenant, Integer beerId, String upc, Long version, boolean remote) {
+
+    /**
+     * A change made here, for the tenant of the request being handled.
+     */
+    public BeerChangedEvent(Integer beerId, String upc, Long version) {
+        this(TenantContext.current(), beerId, upc, version, false);
+    }
+}
@@ -0,0 +1,16 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface BeerOrderService {
+    Mono<BeerOrderDto> placeOrder(UUID customerId, BeerOrderDto beerOrderDto);
+
+    /**
+     * Newest orders first. Pass the id of the last order received as {@code cursor} to continue after it.
+     */
+    Flux<BeerOrderDto> listOrders(UUID customerId, UUID cursor, int limit);
+}
@@ -0,0 +1,162 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.BeerOrder;
+import guru.springframework.sfgrestbrewery.domain.BeerOrderLine;
+import guru.springframework.sfgrestbrewery.domain.UuidV7Generator;
+import guru.springframework.sfgrestbrewery.repositories.BeerOrderLineRepository;
+import guru.springframework.sfgrestbrewery.repositories.BeerOrderRepository;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.repositories.CustomerRepository;
+import guru.springframework.sfgrestbrewery.services.resilience.RepositoryResilience;
+import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.mappers.BeerOrderMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderLineDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderStatusEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BeerOrderServiceImpl implements BeerOrderService {
+    //orders hydrated per round trip: one query for their lines and one for the beers on those lines
+    private static final int HYDRATION_BATCH_SIZE = 25;
+
+    private final BeerOrderRepository beerOrderRepository;
+    private final BeerOrderLineRepository beerOrderLineRepository;
+    private final BeerStore beerStore;
+    private final RepositoryResilience resilience;
+    private final CustomerRepository customerRepository;
+    private final BeerOrderMapper beerOrderMapper;
+    private final BeerMapper beerMapper;
+    private final R2dbcEntityTemplate template;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<BeerOrderDto> placeOrder(UUID customerId, BeerOrderDto beerOrderDto) {
+        //one reservation per beer, taken in beer id order so two orders for the same beers cannot deadlock
+        SortedMap<Integer, Integer> quantities = beerOrderDto.getBeerOrderLines()
+                                                       .stream()
+                                                       .collect(Collectors.toMap(BeerOrderLineDto::getBeerId, BeerOrderLineDto::getOrderQuantity, Integer::sum, TreeMap::new));
+
+        BeerOrder beerOrder = BeerOrder.builder()
+                                       .id(UuidV7Generator.next())
+                                       .customerId(customerId)
+                                       .orderStatus(BeerOrderStatusEnum.NEW)
+                                       .build();
+
+        List<BeerOrderLine> lines = beerOrderDto.getBeerOrderLines()
+                                                .stream()
+                                                .map(line -> BeerOrderLine.builder()
+                                                                          .beerOrderId(beerOrder.getId())
+                                                                          .beerId(line.getBeerId())
+                                                                          .orderQuantity(line.getOrderQuantity())
+                                                                          .build())
+                                                .toList();
+
+        Mono<Map<Integer, Beer>> beers = resilience.read("beerOrder.findBeers", beerStore.findAllById(quantities.keySet())
+                                                                                        .collectMap(Beer::getId))
+                                                   .filter(found -> found.size() == quantities.size())
+                                                   .switchIfEmpty(Mono.error(NotFoundException::new));
+
+        //stock is reserved last: a JDBC store commits it by itself, and a failed reservation still rolls back the order
+        Mono<OrderWithLines> placed = customerRepository.existsById(customerId)
+                                                        .filter(Boolean::booleanValue)
+                                                        .switchIfEmpty(Mono.error(NotFoundException::new))
+                                                        .then(beerOrderRepository.save(beerOrder))
+                                                        .flatMap(savedOrder -> beerOrderLineRepository.saveAll(lines)
+                                                                                                      .collectList()
+                                                                                                      .map(savedLines -> new OrderWithLines(savedOrder, savedLines)))
+                                                        .flatMap(order -> resilience.write("beerOrder.reserveInventory", beerStore.reserveInventory(quantities))
+                                                                                    .thenReturn(order));
+
+        return beers.flatMap(beersById -> transactionalOperator.transactional(placed)
+                                                                //after commit, so caches never reload the pre-order stock; the reservation
+                                                                //bumped each version, but concurrent orders make the exact value unknown here
+                                                                .doOnNext(order -> beersById.values()
+                                                                                            .forEach(beer -> eventPublisher.publishEvent(new BeerChangedEvent(beer.getId(), beer.getUpc(), null))))
+                                                                .map(order -> toBeerOrderDto(order.beerOrder(), order.lines(), toBeerDtos(beersById))));
+    }
+
+    @Override
+    public Flux<BeerOrderDto> listOrders(UUID customerId, UUID cursor, int limit) {
+        Criteria criteria = where("customerId").is(customerId);
+        if (cursor != null) {
+            //UUIDv7 ids sort by creation time, so the id is the keyset
+            criteria = criteria.and("id").lessThan(cursor);
+        }
+
+        return template.select(BeerOrder.class)
+                       .matching(query(criteria).sort(Sort.by(Sort.Direction.DESC, "id")).limit(limit))
+                       .all()
+                       .buffer(HYDRATION_BATCH_SIZE)
+                       .concatMap(this::hydrate);
+    }
+
+    private Flux<BeerOrderDto> hydrate(List<BeerOrder> orders) {
+        List<UUID> orderIds = orders.stream()
+                                    .map(BeerOrder::getId)
+                                    .toList();
+
+        return beerOrderLineRepository.findAllByBeerOrderIdIn(orderIds)
+                                      .collectList()
+                                      .flatMap(lines -> resilience.read("beerOrder.findBeers", beerStore.findAllById(lines.stream()
+                                                                                                                           .map(BeerOrderLine::getBeerId)
+                                                                                                                           .distinct()
+                                                                                                                           .toList())
+                                                                                                         .collectMap(Beer::getId, beerMapper::beerToBeerDto))
+                                                                      .map(beers -> {
+                                                                          Map<UUID, List<BeerOrderLine>> linesByOrder = lines.stream()
+                                                                                                                             .collect(Collectors.groupingBy(BeerOrderLine::getBeerOrderId));
+                                                                          return orders.stream()
+                                                                                       .map(order -> toBeerOrderDto(order, linesByOrder.getOrDefault(order.getId(), List.of()), beers))
+                                                                                       .toList();
+                                                                      }))
+                                      .flatMapIterable(Function.identity());
+    }
+
+    private Map<Integer, BeerDto> toBeerDtos(Map<Integer, Beer> beersById) {
+        return beersById.values()
+                        .stream()
+                        .collect(Collectors.toMap(Beer::getId, beerMapper::beerToBeerDto));
+    }
+
+    private BeerOrderDto toBeerOrderDto(BeerOrder beerOrder, List<BeerOrderLine> lines, Map<Integer, BeerDto> beers) {
+        BeerOrderDto beerOrderDto = beerOrderMapper.beerOrderToBeerOrderDto(beerOrder);
+        beerOrderDto.setBeerOrderLines(lines.stream()
+                                            .map(line -> {
+                                                BeerOrderLineDto lineDto = beerOrderMapper.beerOrderLineToBeerOrderLineDto(line);
+                                                lineDto.setBeer(beers.get(line.getBeerId()));
+                                                return lineDto;
+                                            })
+                                            .toList());
+        return beerOrderDto;
+    }
+
+    private record OrderWithLines(BeerOrder beerOrder, List<BeerOrderLine> lines) {
+    }
+}
@@ -1,19 +1,48 @@
 package guru.springframework.sfgrestbrewery.services;
 
 import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
 import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Created by jt on 2019-04-20.
  */
 public interface BeerService {
-    Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand);
+    /**
+     * Only the fields of the {@code view} are read and filled in. Inventory is included with
+     * {@code showInventoryOnHand} or the {@link BeerView#INVENTORY} view, and left out otherwise.
+     */
+    Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand, BeerView view);
+
+    /**
+     * Only the given {@code fields} are read and filled in. Inventory is included exactly when
+     * {@code showInventoryOnHand} is set, even if {@code fields} names it.
+     * <p>
+     * With a {@code cursor} the page starts after that id and the page number of {@code pageRequest} is not used.
+     * {@link BeerPage#getNextCursor()} is null on the last page, including a last page that happens to be full.
+     */
+    Mono<BeerPage> listBeerPage(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Integer cursor,
+                                Boolean showInventoryOnHand, Set<BeerField> fields);
+
+    /**
+     * The next {@code limit} beers ordered by id, after {@code afterId} or from the first one when it is null. Only the
+     * content, without the count of a {@link BeerPage}, for callers that walk the whole list page by page.
+     */
+    Mono<List<BeerDto>> listBeersAfter(String beerName, BeerStyleEnum beerStyle, Integer afterId, int limit,
+                                       Boolean showInventoryOnHand, Set<BeerField> fields);
 
     Mono<BeerDto> getById(Integer beerId, Boolean showInventoryOnHand);
 
@@ -27,7 +56,17 @@ public interface BeerService {
 
     Mono<BeerDto> getByUpc(String upc);
 
-    void deleteBeerById(Integer beerId);
+    /**
+     * Completes once the beer and its tombstone are gone; a missing beer completes empty rather than failing.
+     */
+    Mono<Void> deleteBeerById(Integer beerId);
 
     Mono<Void> reactiveDeleteById(Integer beerId);
+
+    /**
+     * Every change at or after {@code since}, in change order. A consumer passes the last {@code changedDate} it saw as
+     * the next {@code since}, so it gets the changes at that instant again and skips the ones it already applied by
+     * {@code beerId} and {@code changedDate}.
+     */
+    Flux<BeerChangeDto> listBeerChanges(LocalDateTime since);
 }
@@ -1,30 +1,40 @@
 package guru.springframework.sfgrestbrewery.services;
 
 import guru.springframework.sfgrestbrewery.domain.Beer;
-import guru.springframework.sfgrestbrewery.repositories.BeerRepository;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.services.batch.BeerBatchLoader;
+import guru.springframework.sfgrestbrewery.services.resilience.RepositoryResilience;
 import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
 import guru.springframework.sfgrestbrewery.web.mappers.BeerMapper;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
-import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static org.springframework.data.relational.core.query.Criteria.where;
-import static org.springframework.data.relational.core.query.Query.empty;
-import static org.springframework.data.relational.core.query.Query.query;
-
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_LIST_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_UPC_CACHE;
+import static guru.springframework.sfgrestbrewery.services.tenancy.TenantContext.SCOPED_KEY;
 /**
  * Created by jt on 2019-04-20.
  */
@@ -32,94 +42,132 @@ import static org.springframework.data.relational.core.query.Query.query;
 @Service
 @RequiredArgsConstructor
 public class BeerServiceImpl implements BeerService {
-    private final BeerRepository beerRepository;
+    private final BeerStore beerStore;
+    private final BeerBatchLoader beerBatchLoader;
     private final BeerMapper beerMapper;
-    private final R2dbcEntityTemplate template;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RepositoryResilience resilience;
 
-    @Cacheable(cacheNames = "beerListCache", condition = "#showInventoryOnHand == false ")
+    @Cacheable(cacheNames = BEER_LIST_CACHE, key = SCOPED_KEY + "(#beerName, #beerStyle, #pageRequest, #showInventoryOnHand, #view)",
+            condition = "#showInventoryOnHand == false and #view != T(guru.springframework.sfgrestbrewery.web.model.BeerView).INVENTORY")
     @Override
-    public Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand) {
-        Query query = buildQuery(beerName, beerStyle);
-
-
-        Function<Beer, BeerDto> mapFunction = showInventoryOnHand ? beerMapper::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto;
-
-        return template.select(Beer.class)
-                       .matching(query.with(pageRequest))
-                       .all()
-                       .map(mapFunction)
-                       .collect(Collectors.toList())
-                       .map(beers -> convertBeersToPagedList(beers, pageRequest));
-    }
-
-    private Query buildQuery(String beerName, BeerStyleEnum beerStyle) {
-        if (!StringUtils.isEmpty(beerName) && !StringUtils.isEmpty(beerStyle)) {
-            //search both
-            return query(where("beerName").is(beerName)
-                                          .and("beerStyle")
-                                          .is(beerStyle));
-        } else if (!StringUtils.isEmpty(beerName) && StringUtils.isEmpty(beerStyle)) {
-            //search beer_service name
-            return query(where("beerName").is(beerName));
-        } else if (StringUtils.isEmpty(beerName) && !StringUtils.isEmpty(beerStyle)) {
-            //search beer_service style
-            return query(where("beerStyle").is(beerStyle));
-        } else {
-            return empty();
-        }
+    public Mono<BeerPagedList> listBeers(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Boolean showInventoryOnHand, BeerView view) {
+        //asking for the inventory view is asking for inventory
+        Set<BeerField> columns = columns(view.getFields(), showInventoryOnHand || view == BeerView.INVENTORY);
+
+        return resilience.list("beer.listBeers", beerStore.findAll(beerName, beerStyle, pageRequest, columns)
+                                                          .map(beerMapper::beerToBeerDtoWithInventory)
+                                                          .collect(Collectors.toList()))
+                         .map(beers -> convertBeersToPagedList(beers, pageRequest));
     }
 
     private BeerPagedList convertBeersToPagedList(List<BeerDto> beers, PageRequest pageRequest) {
         return new BeerPagedList(beers, PageRequest.of(pageRequest.getPageNumber(), pageRequest.getPageSize()), beers.size());
     }
 
-    @Cacheable(cacheNames = "beerCache", key = "#beerId", condition = "#showInventoryOnHand == false ")
     @Override
-    public Mono<BeerDto> getById(Integer beerId, Boolean showInventoryOnHand) throws NotFoundException {
+    public Mono<BeerPage> listBeerPage(String beerName, BeerStyleEnum beerStyle, PageRequest pageRequest, Integer cursor,
+                                       Boolean showInventoryOnHand, Set<BeerField> fields) {
+        int pageSize = pageRequest.getPageSize();
+        Set<BeerField> columns = columns(fields, showInventoryOnHand);
+
+        //pages are always ordered by id, so the last id of a page is a valid keyset cursor for the next one; a keyset
+        //page reads one row more than it returns to tell whether there is a next one, an offset page has the count
+        Flux<Beer> page = cursor != null ?
+                beerStore.findAllAfter(beerName, beerStyle, cursor, pageSize + 1, columns) :
+                beerStore.findAll(beerName, beerStyle, PageRequest.of(pageRequest.getPageNumber(), pageSize, Sort.by("id")), columns);
+
+        return resilience.list("beer.listBeerPage", Mono.zip(toDtos(page), beerStore.count(beerName, beerStyle)))
+                   .map(tuple -> {
+                       List<BeerDto> beers = tuple.getT1();
+                       long total = tuple.getT2();
+                       boolean hasNext = cursor != null ?
+                               beers.size() > pageSize :
+                               pageRequest.getOffset() + beers.size() < total;
+                       List<BeerDto> content = beers.size() > pageSize ? beers.subList(0, pageSize) : beers;
+                       Integer nextCursor = hasNext && !content.isEmpty() ? content.get(content.size() - 1).getId() : null;
+
+                       return new BeerPage(content, pageRequest.getPageNumber(), pageSize, total, nextCursor);
+                   });
+    }
+
+    @Override
+    public Mono<List<BeerDto>> listBeersAfter(String beerName, BeerStyleEnum beerStyle, Integer afterId, int limit,
+                                              Boolean showInventoryOnHand, Set<BeerField> fields) {
+        Set<BeerField> columns = columns(fields, showInventoryOnHand);
+
+        Flux<Beer> beers = afterId != null ?
+                beerStore.findAllAfter(beerName, beerStyle, afterId, limit, columns) :
+                beerStore.findAll(beerName, beerStyle, PageRequest.of(0, limit, Sort.by("id")), columns);
+
+        return resilience.list("beer.listBeersAfter", toDtos(beers));
+    }
+
+    private Mono<List<BeerDto>> toDtos(Flux<Beer> beers) {
+        return beers.map(beerMapper::beerToBeerDtoWithInventory)
+                    .collectList();
+    }
+
+    /**
+     * Columns to select for a list. Whatever is not selected stays null through the mapping, so the inventory mapping
+     * serves every view. The stock level column is read exactly when {@code showInventoryOnHand} is set, whatever the
+     * fields ask for, so inventory never shows without it.
+     */
+    private static Set<BeerField> columns(Set<BeerField> fields, boolean showInventoryOnHand) {
+        if (showInventoryOnHand == fields.contains(BeerField.QUANTITY_ON_HAND)) {
+            return fields;
+        }
+        Set<BeerField> columns = EnumSet.copyOf(fields);
+        if (showInventoryOnHand) {
+            columns.add(BeerField.QUANTITY_ON_HAND);
+        } else {
+            columns.remove(BeerField.QUANTITY_ON_HAND);
+        }
+        return columns;
+    }
+
+    @Cacheable(cacheNames = BEER_CACHE, key = SCOPED_KEY + "(#beerId)", condition = "#showInventoryOnHand == false ", unless = "#result == null")
+    @Override
+    public Mono<BeerDto> getById(Integer beerId, Boolean showInventoryOnHand) {
         Function<Beer, BeerDto> mappingFunction = showInventoryOnHand ? beerMapper::beerToBeerDtoWithInventory : beerMapper::beerToBeerDto;
 
-        return beerRepository.findById(beerId)
-                             .switchIfEmpty(Mono.error(NotFoundException::new))
-                             .map(mappingFunction);
+        //a miss completes empty, callers decide how to report it
+        return beerBatchLoader.findById(beerId)
+                              .map(mappingFunction);
     }
 
     @Override
     public Mono<BeerDto> saveNewBeer(BeerDto beerDto) {
-        Mono<Beer> savedBeer = beerRepository.save(beerMapper.beerDtoToBeer(beerDto));
+        Mono<Beer> savedBeer = resilience.write("beer.save", beerStore.save(beerMapper.beerDtoToBeer(beerDto)))
+                                         .doOnNext(this::publishChange);
         return savedBeer.map(beerMapper::beerToBeerDto);
     }
 
     @Override
     public Mono<BeerDto> saveNewBeerMono(Mono<BeerDto> beerDtoMono) {
         return beerDtoMono.map(beerMapper::beerDtoToBeer)
-                          .flatMap(beerRepository::save)
+                          .flatMap(beer -> resilience.write("beer.save", beerStore.save(beer)))
+                          .doOnNext(this::publishChange)
                           .map(beerMapper::beerToBeerDto);
     }
 
     @Override
     public Mono<BeerDto> updateBeer(Integer beerId, BeerDto beerDto) {
-        return beerRepository.findById(beerId)
-                             .defaultIfEmpty(Beer.builder()
-                                                 .build())
-                             .map(beer -> transferDtoToBeer(beer, beerDto))
-                             //.map(beerRepository::save) (using this will return Mono<Mono<Beer>> which is not useful
-                             //use flatMap to remove one layer of Mono
-                             .flatMap(beer -> {
-                                 if (beer.getId() != null) {
-                                     return beerRepository.save(beer);
-                                 }
-                                 return Mono.just(beer);
-                             }) //Mono<Beer> -> map -> Mono<BeerDto>
-                             .map(beerMapper::beerToBeerDto);
+        //completes empty when the beer does not exist
+        return resilience.write("beer.update", beerStore.findById(beerId)
+                                                        .map(beer -> transferDtoToBeer(beer, beerDto))
+                                                        //.map(beerStore::save) (using this will return Mono<Mono<Beer>> which is not useful
+                                                        //use flatMap to remove one layer of Mono
+                                                        .flatMap(beerStore::save))
+                         .doOnNext(this::publishChange) //Mono<Beer> -> map -> Mono<BeerDto>
+                         .map(beerMapper::beerToBeerDto);
     }
 
     private Beer transferDtoToBeer(Beer beer, BeerDto beerDto) {
-        if (beer.getId() != null) {
-            beer.setBeerName(beerDto.getBeerName());
-            beer.setBeerStyle(BeerStyleEnum.valueOf(beerDto.getBeerStyle()));
-            beer.setPrice(beerDto.getPrice());
-            beer.setUpc(beerDto.getUpc());
-        }
+        beer.setBeerName(beerDto.getBeerName());
+        beer.setBeerStyle(BeerStyleEnum.fromName(beerDto.getBeerStyle()));
+        beer.setPrice(beerDto.getPrice());
+        beer.setUpc(beerDto.getUpc());
         return beer;
     }
 
@@ -130,25 +178,54 @@ public class BeerServiceImpl implements BeerService {
                 .flatMap(dto -> updateBeer(beerId, dto)); //will return Mono<BeerDto>
     }
 
-    @Cacheable(cacheNames = "beerUpcCache")
+    @Cacheable(cacheNames = BEER_UPC_CACHE, key = SCOPED_KEY + "(#upc)", unless = "#result == null")
     @Override
     public Mono<BeerDto> getByUpc(String upc) {
-        return beerRepository.findByUpc(upc)
-                             .switchIfEmpty(Mono.error(NotFoundException::new))
-                             .map(beerMapper::beerToBeerDto);
+        return beerBatchLoader.findByUpc(upc)
+                              .map(beerMapper::beerToBeerDto);
     }
 
     @Override
-    public void deleteBeerById(Integer beerId) {
-        beerRepository.deleteById(beerId)
-                      .subscribe();
+    public Mono<Void> deleteBeerById(Integer beerId) {
+        return resilience.write("beer.delete", beerStore.findById(beerId)
+                                                        .flatMap(this::deleteWithTombstone));
     }
 
     @Override
     public Mono<Void> reactiveDeleteById(Integer beerId) {
-        return beerRepository.findById(beerId)
-                             .switchIfEmpty(Mono.error(NotFoundException::new))
-                             .map(beer -> beer.getId())
-                             .flatMap(beerRepository::deleteById);
+        return resilience.write("beer.delete", beerStore.findById(beerId)
+                                                        .switchIfEmpty(Mono.error(NotFoundException::new))
+                                                        .flatMap(this::deleteWithTombstone));
+    }
+
+    private Mono<Void> deleteWithTombstone(Beer beer) {
+        return beerStore.deleteWithTombstone(beer)
+                        .doOnSuccess(done -> publishChange(beer));
+    }
+
+    private void publishChange(Beer beer) {
+        eventPublisher.publishEvent(new BeerChangedEvent(beer.getId(), beer.getUpc(), beer.getVersion()));
+    }
+
+    @Override
+    public Flux<BeerChangeDto> listBeerChanges(LocalDateTime since) {
+        Flux<BeerChangeDto> upserts = beerStore.findModifiedSince(since)
+                                               .map(beer -> BeerChangeDto.builder()
+                                                                         .beerId(beer.getId())
+                                                                         .upc(beer.getUpc())
+                                                                         .changedDate(beer.getLastModifiedDate())
+                                                                         .beer(beerMapper.beerToBeerDtoWithInventory(beer))
+                                                                         .build());
+
+        Flux<BeerChangeDto> deletes = beerStore.findDeletedSince(since)
+                                               .map(tombstone -> BeerChangeDto.builder()
+                                                                              .beerId(tombstone.getBeerId())
+                                                                              .upc(tombstone.getUpc())
+                                                                              .deleted(true)
+                                                                              .changedDate(tombstone.getDeletedDate())
+                                                                              .build());
+
+        //both sources are already sorted by their watermark column, so a sorted merge keeps the feed in change order
+        return resilience.list("beer.listChanges", Flux.mergeComparing(Comparator.comparing(BeerChangeDto::getChangedDate), upserts, deletes));
     }
 }
@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Adapts blocking calls (JDBC, legacy clients, file IO) to Reactor. The call is made when the result is subscribed
+ * to, on the scheduler chosen by {@code sfg.brewery.blocking.scheduler}, and the rest of the pipeline continues there.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlockingCalls {
+    private final Scheduler blockingScheduler;
+
+    /**
+     * A {@code null} result completes the {@code Mono} empty.
+     */
+    public <T> Mono<T> mono(Callable<T> call) {
+        return Mono.fromCallable(call)
+                   .subscribeOn(blockingScheduler);
+    }
+
+    public <T> Flux<T> flux(Callable<? extends Iterable<T>> call) {
+        return mono(call).flatMapIterable(results -> results);
+    }
+
+    public Mono<Void> run(Runnable call) {
+        return Mono.fromRunnable(call)
+                   .subscribeOn(blockingScheduler)
+                   .then();
+    }
+}
@@ -1,6 +1,8 @@
 package guru.springframework.sfgrestbrewery.services;
 
 import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
@@ -8,11 +10,13 @@ import java.util.UUID;
  * Created by jt on 2019-04-21.
  */
 public interface CustomerService {
-    CustomerDto getCustomerById(UUID customerId);
+    Flux<CustomerDto> listCustomers();
 
-    CustomerDto saveNewCustomer(CustomerDto customerDto);
+    Mono<CustomerDto> getCustomerById(UUID customerId);
 
-    void updateCustomer(UUID customerId, CustomerDto customerDto);
+    Mono<CustomerDto> saveNewCustomer(CustomerDto customerDto);
 
-    void deleteById(UUID customerId);
+    Mono<CustomerDto> updateCustomer(UUID customerId, CustomerDto customerDto);
+
+    Mono<Void> deleteById(UUID customerId);
 }
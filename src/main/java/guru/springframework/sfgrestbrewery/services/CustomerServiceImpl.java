@@ -1,40 +1,78 @@
 package guru.springframework.sfgrestbrewery.services;
 
+import guru.springframework.sfgrestbrewery.domain.Customer;
+import guru.springframework.sfgrestbrewery.domain.UuidV7Generator;
+import guru.springframework.sfgrestbrewery.repositories.CustomerRepository;
+import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import guru.springframework.sfgrestbrewery.web.mappers.CustomerMapper;
 import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.CUSTOMER_CACHE;
+import static guru.springframework.sfgrestbrewery.services.tenancy.TenantContext.SCOPED_KEY;
+
 /**
  * Created by jt on 2019-04-21.
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+
     @Override
-    public CustomerDto getCustomerById(UUID customerId) {
-        return CustomerDto.builder()
-                .id(UUID.randomUUID())
-                .name("Joe Buck")
-                .build();
+    public Flux<CustomerDto> listCustomers() {
+        return customerRepository.findAll()
+                                 .map(customerMapper::customerToCustomerDto);
     }
 
+    //misses are not cached, a customer created later must be visible straight away
+    @Cacheable(cacheNames = CUSTOMER_CACHE, key = SCOPED_KEY + "(#customerId)", unless = "#result == null")
     @Override
-    public CustomerDto saveNewCustomer(CustomerDto customerDto) {
-        return CustomerDto.builder()
-                .id(UUID.randomUUID())
-                .build();
+    public Mono<CustomerDto> getCustomerById(UUID customerId) {
+        return customerRepository.findById(customerId)
+                                 .map(customerMapper::customerToCustomerDto);
     }
 
     @Override
-    public void updateCustomer(UUID customerId, CustomerDto customerDto) {
-        //todo impl
-        log.debug("Updating....");
+    public Mono<CustomerDto> saveNewCustomer(CustomerDto customerDto) {
+        Customer customer = customerMapper.customerDtoToCustomer(customerDto);
+        //time-ordered ids keep primary key inserts sequential
+        customer.setId(UuidV7Generator.next());
+
+        return customerRepository.save(customer)
+                                 .map(customerMapper::customerToCustomerDto);
     }
 
+    @CacheEvict(cacheNames = CUSTOMER_CACHE, key = SCOPED_KEY + "(#customerId)")
     @Override
-    public void deleteById(UUID customerId) {
-        log.debug("Deleting.... ");
+    public Mono<CustomerDto> updateCustomer(UUID customerId, CustomerDto customerDto) {
+        //completes empty when the customer does not exist
+        return customerRepository.findById(customerId)
+                                 .map(customer -> {
+                                     customer.setName(customerDto.getName());
+                                     return customer;
+                                 })
+                                 .flatMap(customerRepository::save)
+                                 .map(customerMapper::customerToCustomerDto);
+    }
+
+    @CacheEvict(cacheNames = CUSTOMER_CACHE, key = SCOPED_KEY + "(#customerId)")
+    @Override
+    public Mono<Void> deleteById(UUID customerId) {
+        log.debug("Deleting customer {}", customerId);
+
+        return customerRepository.findById(customerId)
+                                 .switchIfEmpty(Mono.error(NotFoundException::new))
+                                 .flatMap(customerRepository::delete);
     }
 }
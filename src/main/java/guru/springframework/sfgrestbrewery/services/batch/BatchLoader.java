@@ -0,0 +1,144 @@
+package guru.springframework.sfgrestbrewery.services.batch;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Turns single-key lookups into batched ones, in the manner of a DataLoader. Keys asked for within one {@code window}
+ * are collected and resolved together by one call to the batch function. A batch is dispatched early once it holds
+ * {@code maxBatchSize} distinct keys. Callers asking for the same key share one slot in the batch and one result.
+ * <p>
+ * Each value is handed to every caller of its key, so values must not be mutated by callers. A key the batch function
+ * returns nothing for completes its callers empty, and a failed batch fails all of them.
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Mono<List<V>>> batchFunction;
+    private final Function<V, K> keyOf;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Scheduler scheduler;
+    private final Consumer<Integer> batchSizeListener;
+
+    private final Object lock = new Object();
+    private Map<K, List<MonoSink<V>>> pending = new LinkedHashMap<>();
+    private Disposable scheduledDispatch;
+
+    /**
+     * @param batchFunction     loads the values of a set of keys, in any order
+     * @param keyOf             the key a loaded value answers
+     * @param batchSizeListener told the number of distinct keys of every dispatched batch
+     */
+    public BatchLoader(Function<Set<K>, Mono<List<V>>> batchFunction, Function<V, K> keyOf, int maxBatchSize,
+                       Duration window, Scheduler scheduler, Consumer<Integer> batchSizeListener) {
+        this.batchFunction = batchFunction;
+        this.keyOf = keyOf;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.scheduler = scheduler;
+        this.batchSizeListener = batchSizeListener;
+    }
+
+    /**
+     * Lazy like any other {@link Mono}: the key joins a batch on subscription, and again on every resubscription.
+     * Cancelling before the batch is dispatched takes the caller out of it again.
+     */
+    public Mono<V> load(K key) {
+        return Mono.create(sink -> enqueue(key, sink));
+    }
+
+    private void enqueue(K key, MonoSink<V> sink) {
+        Map<K, List<MonoSink<V>>> full = null;
+        synchronized (lock) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1))
+                   .add(sink);
+
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledDispatch == null) {
+                //the first key of a batch opens the window
+                scheduledDispatch = scheduler.schedule(this::dispatchPending, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        //runs at once if the subscriber has already cancelled
+        sink.onCancel(() -> cancel(key, sink));
+
+        //dispatched outside the lock, the batch function may complete synchronously
+        if (full != null) {
+            dispatch(full);
+        }
+    }
+
+    private void cancel(K key, MonoSink<V> sink) {
+        synchronized (lock) {
+            List<MonoSink<V>> sinks = pending.get(key);
+            if (sinks == null || !sinks.remove(sink) || !sinks.isEmpty()) {
+                //already dispatched, or the key still has other callers
+                return;
+            }
+
+            pending.remove(key);
+            if (pending.isEmpty() && scheduledDispatch != null) {
+                scheduledDispatch.dispose();
+                scheduledDispatch = null;
+            }
+        }
+    }
+
+    private void dispatchPending() {
+        Map<K, List<MonoSink<V>>> batch;
+        synchronized (lock) {
+            scheduledDispatch = null;
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    //callers hold the lock
+    private Map<K, List<MonoSink<V>>> takePending() {
+        Map<K, List<MonoSink<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledDispatch != null) {
+            scheduledDispatch.dispose();
+            scheduledDispatch = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<K, List<MonoSink<V>>> batch) {
+        batchSizeListener.accept(batch.size());
+
+        Mono.defer(() -> batchFunction.apply(batch.keySet()))
+            .defaultIfEmpty(List.of())
+            .subscribe(values -> {
+                           Map<K, V> byKey = new LinkedHashMap<>();
+                           values.forEach(value -> byKey.put(keyOf.apply(value), value));
+                           batch.forEach((key, sinks) -> {
+                               V value = byKey.get(key);
+                               sinks.forEach(sink -> {
+                                   if (value != null) {
+                                       sink.success(value);
+                                   } else {
+                                       sink.success();
+                                   }
+                               });
+                           });
+                       },
+                       error -> batch.values()
+                                     .forEach(sinks -> sinks.forEach(sink -> sink.error(error))));
+    }
+}
@@ -0,0 +1,30 @@
+package guru.springframework.sfgrestbrewery.services.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Batching of single beer lookups by {@link BeerBatchLoader}, bound from {@code sfg.brewery.batch.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.batch")
+public class BatchLoaderProperties {
+
+    /**
+     * Off sends every lookup to the database on its own.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long the first lookup of a batch waits for others to join it. Every cache miss pays up to this much extra
+     * latency, so it should stay well below the cost of a query.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Distinct keys per {@code IN} query; a full batch is sent without waiting out the window.
+     */
+    private int maxBatchSize = 100;
+}
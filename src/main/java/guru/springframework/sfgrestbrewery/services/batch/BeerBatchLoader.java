@@ -0,0 +1,88 @@
+package guru.springframework.sfgrestbrewery.services.batch;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.services.resilience.RepositoryResilience;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single beer lookups by id and by UPC, batched into {@code IN} queries across concurrent callers, whether they are
+ * part of one request or of many. Each batch, not each caller, goes through {@link RepositoryResilience}, so a burst
+ * of lookups takes one read permit instead of one each.
+ * <p>
+ * Every tenant gets loaders of its own: a batch is one query against one tenant's database, and is dispatched outside
+ * any request, so it carries its tenant itself.
+ * <p>
+ * Batch sizes are recorded as {@code sfg.batch.size}, tagged with the loader.
+ */
+@Component
+@EnableConfigurationProperties(BatchLoaderProperties.class)
+public class BeerBatchLoader {
+    private static final String BATCH_SIZE_METRIC = "sfg.batch.size";
+
+    private final BeerStore beerStore;
+    private final RepositoryResilience resilience;
+    private final BatchLoaderProperties properties;
+    private final DistributionSummary byIdSizes;
+    private final DistributionSummary byUpcSizes;
+    private final Map<String, BatchLoader<Integer, Beer>> byId = new ConcurrentHashMap<>();
+    private final Map<String, BatchLoader<String, Beer>> byUpc = new ConcurrentHashMap<>();
+
+    public BeerBatchLoader(BeerStore beerStore, RepositoryResilience resilience, BatchLoaderProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.beerStore = beerStore;
+        this.resilience = resilience;
+        this.properties = properties;
+        this.byIdSizes = batchSizes(meterRegistry, "beer.byId");
+        this.byUpcSizes = batchSizes(meterRegistry, "beer.byUpc");
+    }
+
+    private static DistributionSummary batchSizes(MeterRegistry meterRegistry, String loader) {
+        return DistributionSummary.builder(BATCH_SIZE_METRIC)
+                                  .tag("loader", loader)
+                                  .register(meterRegistry);
+    }
+
+    /**
+     * The shared beer of a batch must not be modified; map it, do not save it.
+     */
+    public Mono<Beer> findById(Integer beerId) {
+        if (!properties.isEnabled()) {
+            return resilience.read("beer.getById", beerStore.findById(beerId));
+        }
+        return Mono.deferContextual(context -> byId.computeIfAbsent(TenantContext.tenant(context), this::byIdLoader)
+                                                   .load(beerId));
+    }
+
+    /**
+     * The shared beer of a batch must not be modified; map it, do not save it.
+     */
+    public Mono<Beer> findByUpc(String upc) {
+        if (!properties.isEnabled()) {
+            return resilience.read("beer.getByUpc", beerStore.findByUpc(upc));
+        }
+        return Mono.deferContextual(context -> byUpc.computeIfAbsent(TenantContext.tenant(context), this::byUpcLoader)
+                                                    .load(upc));
+    }
+
+    private BatchLoader<Integer, Beer> byIdLoader(String tenant) {
+        return new BatchLoader<>(ids -> resilience.read("beer.findAllById", beerStore.findAllById(ids).collectList())
+                                                  .contextWrite(TenantContext.with(tenant)),
+                Beer::getId, properties.getMaxBatchSize(), properties.getWindow(), Schedulers.parallel(), byIdSizes::record);
+    }
+
+    private BatchLoader<String, Beer> byUpcLoader(String tenant) {
+        return new BatchLoader<>(upcs -> resilience.read("beer.findAllByUpc", beerStore.findAllByUpc(upcs).collectList())
+                                                   .contextWrite(TenantContext.with(tenant)),
+                Beer::getUpc, properties.getMaxBatchSize(), properties.getWindow(), Schedulers.parallel(), byUpcSizes::record);
+    }
+}
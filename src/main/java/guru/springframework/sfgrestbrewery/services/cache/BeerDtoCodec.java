@@ -0,0 +1,131 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.Money;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Fixed field order binary form of a {@link BeerDto}, typically around 80 bytes. A leading bit set marks which
+ * fields are present, so unset fields (no inventory in the default view, for one) cost nothing.
+ */
+public class BeerDtoCodec implements ValueCodec<BeerDto> {
+    private static final int ID = 1;
+    private static final int VERSION = 1 << 1;
+    private static final int BEER_NAME = 1 << 2;
+    private static final int BEER_STYLE = 1 << 3;
+    private static final int UPC = 1 << 4;
+    private static final int PRICE = 1 << 5;
+    private static final int QUANTITY_ON_HAND = 1 << 6;
+    private static final int CREATED_DATE = 1 << 7;
+    private static final int LAST_UPDATED_DATE = 1 << 8;
+
+    @Override
+    public byte[] encode(BeerDto beer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(presentFields(beer));
+
+            if (beer.getId() != null) {
+                out.writeInt(beer.getId());
+            }
+            if (beer.getVersion() != null) {
+                out.writeLong(beer.getVersion());
+            }
+            if (beer.getBeerName() != null) {
+                out.writeUTF(beer.getBeerName());
+            }
+            if (beer.getBeerStyle() != null) {
+                out.writeByte(BeerStyleEnum.fromName(beer.getBeerStyle()).getCode());
+            }
+            if (beer.getUpc() != null) {
+                out.writeUTF(beer.getUpc());
+            }
+            if (beer.getPrice() != null) {
+                out.writeLong(beer.getPrice().catalogueMinorUnits());
+            }
+            if (beer.getQuantityOnHand() != null) {
+                out.writeInt(beer.getQuantityOnHand());
+            }
+            if (beer.getCreatedDate() != null) {
+                writeDate(out, beer.getCreatedDate());
+            }
+            if (beer.getLastUpdatedDate() != null) {
+                writeDate(out, beer.getLastUpdatedDate());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public BeerDto decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int present = in.readUnsignedShort();
+            BeerDto.BeerDtoBuilder beer = BeerDto.builder();
+
+            if ((present & ID) != 0) {
+                beer.id(in.readInt());
+            }
+            if ((present & VERSION) != 0) {
+                beer.version(in.readLong());
+            }
+            if ((present & BEER_NAME) != 0) {
+                beer.beerName(in.readUTF());
+            }
+            if ((present & BEER_STYLE) != 0) {
+                beer.beerStyle(BeerStyleEnum.fromCode(in.readUnsignedByte()).name());
+            }
+            if ((present & UPC) != 0) {
+                beer.upc(in.readUTF());
+            }
+            if ((present & PRICE) != 0) {
+                beer.price(Money.ofMinor(in.readLong()));
+            }
+            if ((present & QUANTITY_ON_HAND) != 0) {
+                beer.quantityOnHand(in.readInt());
+            }
+            if ((present & CREATED_DATE) != 0) {
+                beer.createdDate(readDate(in));
+            }
+            if ((present & LAST_UPDATED_DATE) != 0) {
+                beer.lastUpdatedDate(readDate(in));
+            }
+            return beer.build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int presentFields(BeerDto beer) {
+        int present = 0;
+        present |= beer.getId() != null ? ID : 0;
+        present |= beer.getVersion() != null ? VERSION : 0;
+        present |= beer.getBeerName() != null ? BEER_NAME : 0;
+        present |= beer.getBeerStyle() != null ? BEER_STYLE : 0;
+        present |= beer.getUpc() != null ? UPC : 0;
+        present |= beer.getPrice() != null ? PRICE : 0;
+        present |= beer.getQuantityOnHand() != null ? QUANTITY_ON_HAND : 0;
+        present |= beer.getCreatedDate() != null ? CREATED_DATE : 0;
+        present |= beer.getLastUpdatedDate() != null ? LAST_UPDATED_DATE : 0;
+        return present;
+    }
+
+    private void writeDate(DataOutputStream out, LocalDateTime date) throws IOException {
+        out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(date.getNano());
+    }
+
+    private LocalDateTime readDate(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
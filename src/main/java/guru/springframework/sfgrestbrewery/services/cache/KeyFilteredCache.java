@@ -0,0 +1,12 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import java.util.function.Predicate;
+
+/**
+ * A cache that can drop a group of entries by key, for when the exact keys are unknown but their shape is, such as
+ * every entry of one tenant.
+ */
+public interface KeyFilteredCache {
+
+    void evictIf(Predicate<Object> keyFilter);
+}
@@ -0,0 +1,164 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An on-heap cache holding at most {@code maxEntries} values, dropping the least recently used one to make room.
+ * For values that are not worth an off-heap tier, such as list pages, whose keys come from free-form request
+ * parameters and would otherwise grow without limit. Null values are not cached.
+ */
+public class LruCache implements Cache, KeyFilteredCache, MeterBinder {
+    private final String name;
+    //access ordered, guarded by itself
+    private final LinkedHashMap<Object, Object> entries;
+    private long evictions;
+
+    public LruCache(String name, int maxEntries) {
+        this.name = name;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = lookup(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = lookup(key);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        Object value = lookup(key);
+        return value != null ? CompletableFuture.completedFuture(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture((T) value);
+        }
+        return valueLoader.get()
+                          .thenApply(loaded -> {
+                              put(key, loaded);
+                              return loaded;
+                          });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void evictIf(Predicate<Object> keyFilter) {
+        synchronized (entries) {
+            entries.keySet().removeIf(keyFilter);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long evictions() {
+        synchronized (entries) {
+            return evictions;
+        }
+    }
+
+    private Object lookup(Object key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    //tagged as level l1 to line up with the meters of TieredCache
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("sfg.cache.size", this, LruCache::size)
+             .tag("cache", name).tag("level", "l1")
+             .register(registry);
+        FunctionCounter.builder("sfg.cache.evictions", this, LruCache::evictions)
+                       .tag("cache", name).tag("level", "l1")
+                       .register(registry);
+    }
+}
@@ -0,0 +1,133 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Byte arrays kept in one direct buffer, outside the Java heap, so the GC never scans or copies them.
+ * <p>
+ * The buffer is written as a ring log: each value goes at the write position and when the position reaches the end
+ * it starts over at the front, evicting whatever is there. That makes eviction FIFO and free of fragmentation.
+ * Removed values leave dead space that is reclaimed the next time the ring passes over it.
+ */
+class OffHeapStore {
+    private final ByteBuffer arena;
+    private final Map<Object, Slot> index = new HashMap<>();
+    //every slot still taking up space, oldest first, which is also address order starting at the write position
+    private final ArrayDeque<Slot> log = new ArrayDeque<>();
+    private int writePosition;
+    private long liveBytes;
+    private long evictions;
+
+    OffHeapStore(int capacity) {
+        this.arena = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * @return false when the value is larger than the whole store
+     */
+    synchronized boolean put(Object key, byte[] value) {
+        if (value.length > arena.capacity()) {
+            return false;
+        }
+        remove(key);
+
+        if (writePosition + value.length > arena.capacity()) {
+            //drop everything between here and the end, then start over at the front
+            while (!log.isEmpty() && log.peekFirst().offset() >= writePosition) {
+                reclaimOldest();
+            }
+            writePosition = 0;
+        }
+        while (!log.isEmpty() && overlaps(log.peekFirst(), writePosition, value.length)) {
+            reclaimOldest();
+        }
+
+        Slot slot = new Slot(key, writePosition, value.length);
+        arena.put(writePosition, value);
+        index.put(key, slot);
+        log.addLast(slot);
+        writePosition += value.length;
+        liveBytes += value.length;
+        return true;
+    }
+
+    synchronized byte[] get(Object key) {
+        Slot slot = index.get(key);
+        if (slot == null) {
+            return null;
+        }
+        byte[] value = new byte[slot.length()];
+        arena.get(slot.offset(), value);
+        return value;
+    }
+
+    synchronized void forEach(BiConsumer<Object, byte[]> consumer) {
+        index.forEach((key, slot) -> {
+            byte[] value = new byte[slot.length()];
+            arena.get(slot.offset(), value);
+            consumer.accept(key, value);
+        });
+    }
+
+    synchronized void remove(Object key) {
+        Slot slot = index.remove(key);
+        if (slot != null) {
+            liveBytes -= slot.length();
+        }
+    }
+
+    synchronized void removeIf(Predicate<Object> keyFilter) {
+        index.values().removeIf(slot -> {
+            if (!keyFilter.test(slot.key())) {
+                return false;
+            }
+            liveBytes -= slot.length();
+            return true;
+        });
+    }
+
+    synchronized void clear() {
+        index.clear();
+        log.clear();
+        writePosition = 0;
+        liveBytes = 0;
+    }
+
+    synchronized int size() {
+        return index.size();
+    }
+
+    synchronized long liveBytes() {
+        return liveBytes;
+    }
+
+    synchronized long evictions() {
+        return evictions;
+    }
+
+    int capacity() {
+        return arena.capacity();
+    }
+
+    private void reclaimOldest() {
+        Slot oldest = log.pollFirst();
+        //the key may have been removed or written again since, in which case this slot is already dead space
+        if (index.get(oldest.key()) == oldest) {
+            index.remove(oldest.key());
+            liveBytes -= oldest.length();
+            evictions++;
+        }
+    }
+
+    private boolean overlaps(Slot slot, int offset, int length) {
+        return slot.offset() < offset + length && offset < slot.offset() + slot.length();
+    }
+
+    private record Slot(Object key, int offset, int length) {
+    }
+}
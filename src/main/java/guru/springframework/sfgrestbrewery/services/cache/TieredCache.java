@@ -0,0 +1,308 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A two level cache: a small L1 of hot values as objects on the heap, backed by a much larger L2 of serialized
+ * values in an {@link OffHeapStore}.
+ * <p>
+ * New values go into L1. The least recently used L1 value is demoted to L2 when L1 is full, and an L2 hit is promoted
+ * back into L1. The levels are exclusive, a value lives in one of them, so L2 holds the cold part of the working set
+ * without the heap or GC paying for it. Null values are not cached.
+ * <p>
+ * Values are encoded and decoded outside the lock, so a promotion or demotion is applied in a second step. Every
+ * {@code put}, {@code evict} and {@code clear} bumps the generation of the keys it touches, and that second step is
+ * dropped when the generation moved in between, so a value removed or replaced meanwhile is never written back.
+ */
+public class TieredCache<V> implements Cache, KeyFilteredCache, MeterBinder {
+    //generations are striped rather than kept per key, a collision only costs a skipped promotion or demotion
+    private static final int GENERATION_STRIPES = 256;
+
+    private final String name;
+    private final ValueCodec<V> codec;
+    private final int l1MaxEntries;
+    private final Map<Object, V> l1;
+    private final OffHeapStore l2;
+    //guarded by l1, like every change to either level
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+
+    public TieredCache(String name, ValueCodec<V> codec, int l1MaxEntries, int l2Capacity) {
+        this.name = name;
+        this.codec = codec;
+        this.l1MaxEntries = l1MaxEntries;
+        this.l1 = new LinkedHashMap<>(16, 0.75f, true);
+        this.l2 = new OffHeapStore(l2Capacity);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        V value = lookup(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        V value = lookup(key);
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        V value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Used by {@code @Cacheable} on methods returning {@code Mono}; completes with the plain value, like
+     * {@code ConcurrentMapCache} does when null values are not allowed.
+     */
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        V value = lookup(key);
+        return value != null ? CompletableFuture.completedFuture(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        V value = lookup(key);
+        if (value != null) {
+            return CompletableFuture.completedFuture((T) value);
+        }
+        return valueLoader.get()
+                          .thenApply(loaded -> {
+                              put(key, loaded);
+                              return loaded;
+                          });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+
+        Demotion<V> demoted;
+        synchronized (l1) {
+            generations[stripe(key)]++;
+            l1.put(key, (V) value);
+            //a newer value must not be shadowed by an old copy left in L2
+            l2.remove(key);
+            demoted = demoteEldest();
+        }
+        demote(demoted);
+    }
+
+    @Override
+    public void evict(Object key) {
+        synchronized (l1) {
+            generations[stripe(key)]++;
+            l1.remove(key);
+            l2.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (l1) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i]++;
+            }
+            l1.clear();
+            l2.clear();
+        }
+    }
+
+    /**
+     * Bumps every generation, as {@link #clear()} does, since a matching value may be on its way between the levels.
+     */
+    @Override
+    public void evictIf(Predicate<Object> keyFilter) {
+        synchronized (l1) {
+            for (int i = 0; i < generations.length; i++) {
+                generations[i]++;
+            }
+            l1.keySet().removeIf(keyFilter);
+            l2.removeIf(keyFilter);
+        }
+    }
+
+    /**
+     * Hands every cached value to {@code consumer} in its serialized form, for snapshots. Values changed while this
+     * runs may or may not be included.
+     */
+    public void forEachEncoded(BiConsumer<Object, byte[]> consumer) {
+        List<Map.Entry<Object, V>> hot;
+        synchronized (l1) {
+            hot = new ArrayList<>(l1.size());
+            l1.forEach((key, value) -> hot.add(Map.entry(key, value)));
+        }
+        hot.forEach(entry -> consumer.accept(entry.getKey(), codec.encode(entry.getValue())));
+        l2.forEach(consumer);
+    }
+
+    private V lookup(Object key) {
+        V value;
+        long generation;
+        synchronized (l1) {
+            value = l1.get(key);
+            generation = generations[stripe(key)];
+        }
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+
+        byte[] bytes = l2.get(key);
+        if (bytes == null) {
+            misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        value = codec.decode(bytes);
+        promote(key, value, generation);
+        return value;
+    }
+
+    private void promote(Object key, V value, long generation) {
+        Demotion<V> demoted;
+        synchronized (l1) {
+            //evicted or replaced while it was being decoded, the caller still gets the value it read
+            if (generations[stripe(key)] != generation) {
+                return;
+            }
+            l1.put(key, value);
+            l2.remove(key);
+            demoted = demoteEldest();
+        }
+        demote(demoted);
+    }
+
+    private Demotion<V> demoteEldest() {
+        if (l1.size() <= l1MaxEntries) {
+            return null;
+        }
+        Iterator<Map.Entry<Object, V>> eldest = l1.entrySet().iterator();
+        Map.Entry<Object, V> entry = eldest.next();
+        eldest.remove();
+        return new Demotion<>(entry.getKey(), entry.getValue(), generations[stripe(entry.getKey())]);
+    }
+
+    private void demote(Demotion<V> demoted) {
+        if (demoted == null) {
+            return;
+        }
+        byte[] bytes = codec.encode(demoted.value());
+        synchronized (l1) {
+            //a reader that missed while the value was in flight may have loaded and put a newer one
+            if (generations[stripe(demoted.key())] != demoted.generation() || l1.containsKey(demoted.key())) {
+                return;
+            }
+            l2.put(demoted.key(), bytes);
+        }
+        demotions.increment();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    public Stats stats() {
+        int l1Size;
+        synchronized (l1) {
+            l1Size = l1.size();
+        }
+        return new Stats(l1Hits.sum(), l2Hits.sum(), misses.sum(), demotions.sum(), l2.evictions(),
+                l1Size, l2.size(), l2.liveBytes(), l2.capacity());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        //meters hold their state weakly, so they are bound to the cache itself rather than to its counters
+        counter(registry, "sfg.cache.hits", "l1", cache -> cache.l1Hits.sum());
+        counter(registry, "sfg.cache.hits", "l2", cache -> cache.l2Hits.sum());
+        counter(registry, "sfg.cache.misses", null, cache -> cache.misses.sum());
+        counter(registry, "sfg.cache.demotions", null, cache -> cache.demotions.sum());
+        counter(registry, "sfg.cache.evictions", "l2", cache -> cache.l2.evictions());
+
+        Gauge.builder("sfg.cache.size", this, cache -> cache.stats().l1Size())
+             .tag("cache", name).tag("level", "l1")
+             .register(registry);
+        Gauge.builder("sfg.cache.size", this, cache -> cache.l2.size())
+             .tag("cache", name).tag("level", "l2")
+             .register(registry);
+        Gauge.builder("sfg.cache.l2.bytes", this, cache -> cache.l2.liveBytes())
+             .tag("cache", name)
+             .baseUnit("bytes")
+             .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String metric, String level, ToDoubleFunction<TieredCache<V>> count) {
+        FunctionCounter.Builder<TieredCache<V>> counter = FunctionCounter.builder(metric, this, count)
+                                                                         .tag("cache", name);
+        if (level != null) {
+            counter.tag("level", level);
+        }
+        counter.register(registry);
+    }
+
+    private record Demotion<V>(Object key, V value, long generation) {
+    }
+
+    /**
+     * Point in time counters. {@code l2Hits} doubles as the promotion count.
+     */
+    public record Stats(long l1Hits, long l2Hits, long misses, long demotions, long l2Evictions,
+                        int l1Size, int l2Size, long l2Bytes, int l2Capacity) {
+    }
+}
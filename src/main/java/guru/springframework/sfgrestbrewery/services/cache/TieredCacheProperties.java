@@ -0,0 +1,33 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Sizes of the two beer cache tiers and of the on-heap {@link LruCache}s, bound from {@code sfg.brewery.cache.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.cache")
+public class TieredCacheProperties {
+
+    /**
+     * Hot beers kept as objects on the heap, per cache.
+     */
+    private int l1MaxEntries = 1_000;
+
+    /**
+     * Off-heap memory reserved for serialized beers, per cache. At most 2GB.
+     */
+    private DataSize l2Capacity = DataSize.ofMegabytes(64);
+
+    /**
+     * Beer list pages kept, across every filter, page and view combination.
+     */
+    private int listMaxEntries = 500;
+
+    /**
+     * Customers kept.
+     */
+    private int customerMaxEntries = 10_000;
+}
@@ -0,0 +1,11 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+/**
+ * Turns cached values into the bytes kept in the off-heap tier and back.
+ */
+public interface ValueCodec<T> {
+
+    byte[] encode(T value);
+
+    T decode(byte[] bytes);
+}
@@ -0,0 +1,23 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries beer changes between the nodes of a deployment, so each can drop its cached copies.
+ * Delivery is best effort. Nothing in the caches expires, so when messages can be lost
+ * {@link CacheReconciler} replays the change feed to catch up on the ones that were.
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Sends the change to every other node. Must not block.
+     */
+    void broadcast(BeerChangedEvent event);
+
+    /**
+     * Registers the handler for changes broadcast by other nodes. A node never receives its own broadcasts.
+     */
+    void onRemoteChange(Consumer<BeerChangedEvent> handler);
+}
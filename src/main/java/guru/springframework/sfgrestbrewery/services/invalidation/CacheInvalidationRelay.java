@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connects local {@link BeerChangedEvent}s to the {@link CacheInvalidationBus}: changes made here are broadcast,
+ * changes from other nodes are republished here as remote events, so the same listeners evict the same caches.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationRelay {
+    private final CacheInvalidationBus bus;
+    private final Counter sent;
+    private final Counter received;
+
+    public CacheInvalidationRelay(CacheInvalidationBus bus, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.bus = bus;
+        this.sent = meterRegistry.counter("sfg.cache.invalidations", "direction", "sent");
+        this.received = meterRegistry.counter("sfg.cache.invalidations", "direction", "received");
+
+        bus.onRemoteChange(event -> {
+            log.debug("Beer {} version {} changed on another node", event.beerId(), event.version());
+            received.increment();
+            eventPublisher.publishEvent(new BeerChangedEvent(event.tenant(), event.beerId(), event.upc(), event.version(), true));
+        });
+    }
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        if (!event.remote()) {
+            bus.broadcast(event);
+            sent.increment();
+        }
+    }
+}
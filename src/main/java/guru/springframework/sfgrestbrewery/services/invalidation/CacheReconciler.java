@@ -0,0 +1,118 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The backstop for invalidations lost on the way between nodes. Every {@code sfg.brewery.invalidation.reconcile-interval}
+ * it reads the change feed of each tenant since its previous run and republishes every change as a remote
+ * {@link BeerChangedEvent}, so a beer whose broadcast never arrived is evicted at most one interval late.
+ * <p>
+ * Only runs with the multicast transport, the loopback one cannot lose a message. Evicting a beer that was already
+ * evicted costs nothing but a reload.
+ */
+@Slf4j
+@Component
+public class CacheReconciler {
+    //timestamps in the database come from every node's clock, not just this one
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final InvalidationProperties properties;
+    private final TenancyProperties tenancyProperties;
+    private final BeerService beerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter reconciled;
+    private final Map<String, LocalDateTime> watermarks = new ConcurrentHashMap<>();
+    private volatile LocalDateTime startedAt;
+    private volatile Disposable schedule;
+
+    public CacheReconciler(InvalidationProperties properties, TenancyProperties tenancyProperties, BeerService beerService,
+                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tenancyProperties = tenancyProperties;
+        this.beerService = beerService;
+        this.eventPublisher = eventPublisher;
+        this.reconciled = meterRegistry.counter("sfg.cache.invalidations", "direction", "reconciled");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Duration interval = properties.getReconcileInterval();
+        if (!InvalidationProperties.MULTICAST.equals(properties.getTransport()) || interval == null || !interval.isPositive()) {
+            return;
+        }
+        startedAt = LocalDateTime.now();
+        schedule = Flux.interval(interval, interval)
+                       .onBackpressureDrop()
+                       .concatMap(tick -> reconcile(), 1)
+                       .subscribe();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        Disposable running = schedule;
+        if (running != null) {
+            running.dispose();
+        }
+    }
+
+    /**
+     * Replays the changes since the previous run, for every tenant.
+     *
+     * @return how many changes were replayed
+     */
+    public Mono<Long> reconcile() {
+        return Flux.fromIterable(tenants())
+                   .concatMap(this::reconcile)
+                   .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> reconcile(String tenant) {
+        LocalDateTime runStart = LocalDateTime.now();
+        LocalDateTime since = watermarks.getOrDefault(tenant, startedAt != null ? startedAt : runStart).minus(CLOCK_SKEW);
+
+        return beerService.listBeerChanges(since)
+                          .doOnNext(change -> {
+                              Long version = change.getBeer() != null ? change.getBeer().getVersion() : null;
+                              eventPublisher.publishEvent(new BeerChangedEvent(tenant, change.getBeerId(), change.getUpc(), version, true));
+                              reconciled.increment();
+                          })
+                          .count()
+                          //only move on once the whole feed was read, a failed run is covered by the next one
+                          .doOnSuccess(count -> watermarks.put(tenant, runStart))
+                          .onErrorResume(e -> {
+                              log.warn("Reconciling the beer caches of tenant {} failed", tenant, e);
+                              return Mono.just(0L);
+                          })
+                          .contextWrite(TenantContext.with(tenant));
+    }
+
+    private List<String> tenants() {
+        List<String> tenants = new ArrayList<>();
+        tenants.add(TenantContext.DEFAULT_TENANT);
+        if (tenancyProperties.isEnabled()) {
+            tenants.addAll(tenancyProperties.getTenants().keySet());
+        }
+        return tenants;
+    }
+}
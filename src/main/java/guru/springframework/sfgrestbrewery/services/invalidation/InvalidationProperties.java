@@ -0,0 +1,42 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cross node cache invalidation, bound from {@code sfg.brewery.invalidation.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.invalidation")
+public class InvalidationProperties {
+    public static final String LOOPBACK = "loopback";
+    public static final String MULTICAST = "multicast";
+
+    /**
+     * {@code loopback} keeps invalidations in this process (single node), {@code multicast} sends them to every node
+     * that joined the same UDP multicast group.
+     */
+    private String transport = LOOPBACK;
+
+    private String group = "239.255.27.1";
+    private int port = 4446;
+
+    /**
+     * Interface to join the group on, by name (eth0). Empty picks the first one that is up and can multicast,
+     * preferring real interfaces over loopback.
+     */
+    private String networkInterface;
+
+    /**
+     * Router hops a datagram may cross, 1 keeps it on the local subnet.
+     */
+    private int timeToLive = 1;
+
+    /**
+     * How often a multicast node replays the change feed to evict beers whose invalidation it never received, which
+     * bounds how long a lost datagram can leave a stale beer cached. Zero turns it off.
+     */
+    private Duration reconcileInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus. Buses sharing a {@link Topic} act as nodes of one cluster, which is how tests run several
+ * application contexts against each other; a bus with a topic of its own is a single node deployment.
+ */
+public class LoopbackInvalidationBus implements CacheInvalidationBus {
+    private final Topic topic;
+    private final List<Consumer<BeerChangedEvent>> handlers = new CopyOnWriteArrayList<>();
+
+    public LoopbackInvalidationBus(Topic topic) {
+        this.topic = topic;
+        topic.members.add(this);
+    }
+
+    @Override
+    public void broadcast(BeerChangedEvent event) {
+        topic.members.stream()
+                     .filter(member -> member != this)
+                     .forEach(member -> member.handlers.forEach(handler -> handler.accept(event)));
+    }
+
+    @Override
+    public void onRemoteChange(Consumer<BeerChangedEvent> handler) {
+        handlers.add(handler);
+    }
+
+    public static class Topic {
+        private final List<LoopbackInvalidationBus> members = new CopyOnWriteArrayList<>();
+    }
+}
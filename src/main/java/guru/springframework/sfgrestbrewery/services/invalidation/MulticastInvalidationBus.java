@@ -0,0 +1,190 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sends each change as one UDP datagram to a multicast group every node has joined. Cheap and needs no broker, but
+ * datagrams can be lost or reordered; evicting is idempotent, so duplicates and order do not matter.
+ * <p>
+ * Datagrams carry the sender's node id, which is how a node skips its own broadcasts when the network loops them
+ * back, and a magic number so stray traffic on the port is ignored.
+ */
+@Slf4j
+public class MulticastInvalidationBus implements CacheInvalidationBus, AutoCloseable {
+    private static final int MAGIC = 0x53464742;
+    private static final int MAX_DATAGRAM = 512;
+    private static final int HAS_ID = 1;
+    private static final int HAS_UPC = 1 << 1;
+    private static final int HAS_VERSION = 1 << 2;
+    private static final int HAS_TENANT = 1 << 3;
+
+    private final UUID nodeId = UUID.randomUUID();
+    private final InetSocketAddress groupAddress;
+    private final DatagramChannel channel;
+    private final List<Consumer<BeerChangedEvent>> handlers = new CopyOnWriteArrayList<>();
+
+    public MulticastInvalidationBus(InvalidationProperties properties) throws IOException {
+        InetAddress group = InetAddress.getByName(properties.getGroup());
+        NetworkInterface networkInterface = networkInterface(properties.getNetworkInterface());
+
+        this.groupAddress = new InetSocketAddress(group, properties.getPort());
+        this.channel = DatagramChannel.open(StandardProtocolFamily.INET)
+                                      .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                                      .bind(new InetSocketAddress(properties.getPort()))
+                                      .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface)
+                                      .setOption(StandardSocketOptions.IP_MULTICAST_TTL, properties.getTimeToLive());
+        channel.join(group, networkInterface);
+
+        Thread.ofVirtual()
+              .name("invalidation-receiver")
+              .start(this::receive);
+        log.info("Node {} joined invalidation group {} on {}", nodeId, groupAddress, networkInterface.getName());
+    }
+
+    /**
+     * UDP sends only wait for room in the socket buffer, never for the network.
+     */
+    @Override
+    public void broadcast(BeerChangedEvent event) {
+        try {
+            channel.send(ByteBuffer.wrap(encode(event)), groupAddress);
+        } catch (IOException e) {
+            log.warn("Could not broadcast invalidation for beer {}", event.beerId(), e);
+        }
+    }
+
+    @Override
+    public void onRemoteChange(Consumer<BeerChangedEvent> handler) {
+        handlers.add(handler);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                buffer.flip();
+
+                BeerChangedEvent event = decode(Arrays.copyOf(buffer.array(), buffer.limit()));
+                if (event != null) {
+                    handlers.forEach(handler -> handler.accept(event));
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Dropping invalidation datagram", e);
+            }
+        }
+    }
+
+    byte[] encode(BeerChangedEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeLong(nodeId.getMostSignificantBits());
+            out.writeLong(nodeId.getLeastSignificantBits());
+            boolean hasTenant = !TenantContext.isDefault(event.tenant());
+            out.writeByte((event.beerId() != null ? HAS_ID : 0) | (event.upc() != null ? HAS_UPC : 0) |
+                    (event.version() != null ? HAS_VERSION : 0) | (hasTenant ? HAS_TENANT : 0));
+            if (event.beerId() != null) {
+                out.writeInt(event.beerId());
+            }
+            if (event.upc() != null) {
+                out.writeUTF(event.upc());
+            }
+            if (event.version() != null) {
+                out.writeLong(event.version());
+            }
+            //last, so nodes that predate tenants read the rest and merely over-evict
+            if (hasTenant) {
+                out.writeUTF(event.tenant());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return null for datagrams that are not invalidations or that this node sent itself
+     */
+    BeerChangedEvent decode(byte[] datagram) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(datagram));
+        if (datagram.length < 21 || in.readInt() != MAGIC) {
+            return null;
+        }
+        if (new UUID(in.readLong(), in.readLong()).equals(nodeId)) {
+            return null;
+        }
+
+        int present = in.readUnsignedByte();
+        Integer beerId = (present & HAS_ID) != 0 ? in.readInt() : null;
+        String upc = (present & HAS_UPC) != 0 ? in.readUTF() : null;
+        Long version = (present & HAS_VERSION) != 0 ? in.readLong() : null;
+        String tenant = (present & HAS_TENANT) != 0 ? in.readUTF() : TenantContext.DEFAULT_TENANT;
+        return new BeerChangedEvent(tenant, beerId, upc, version, true);
+    }
+
+    private static NetworkInterface networkInterface(String name) throws SocketException {
+        if (name != null && !name.isBlank()) {
+            NetworkInterface networkInterface = NetworkInterface.getByName(name);
+            if (networkInterface == null) {
+                throw new IllegalArgumentException("No network interface named " + name);
+            }
+            return networkInterface;
+        }
+
+        //first interface that is up and can multicast, loopback last so a single host still works
+        return NetworkInterface.networkInterfaces()
+                               .filter(MulticastInvalidationBus::canMulticast)
+                               .min((a, b) -> Boolean.compare(isLoopback(a), isLoopback(b)))
+                               .orElseThrow(() -> new IllegalStateException("No multicast capable network interface"));
+    }
+
+    private static boolean canMulticast(NetworkInterface networkInterface) {
+        try {
+            return networkInterface.isUp() && (networkInterface.supportsMulticast() || networkInterface.isLoopback()) &&
+                    networkInterface.inetAddresses().anyMatch(address -> address instanceof Inet4Address);
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+
+    private static boolean isLoopback(NetworkInterface networkInterface) {
+        try {
+            return networkInterface.isLoopback();
+        } catch (SocketException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Non-blocking bulkhead: a call either gets a permit when it is subscribed or fails at once, it never waits.
+ */
+class Bulkhead {
+    private final OperationType operationType;
+    private final Semaphore permits;
+
+    Bulkhead(OperationType operationType, int maxConcurrent) {
+        this.operationType = operationType;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    <T> Mono<T> execute(Mono<T> source) {
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new BulkheadFullException(operationType));
+            }
+            return source.doFinally(signal -> permits.release());
+        });
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
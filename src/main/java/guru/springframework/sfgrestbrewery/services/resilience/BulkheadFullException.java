@@ -0,0 +1,11 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+/**
+ * All permits for an operation type are in use. Thrown on every rejection under load, so it carries no stack trace.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(OperationType operationType) {
+        super("No capacity left for " + operationType.name().toLowerCase() + " operations", null, false, false);
+    }
+}
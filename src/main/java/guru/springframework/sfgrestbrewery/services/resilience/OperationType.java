@@ -0,0 +1,6 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+public enum OperationType {
+
+    READ, LIST, WRITE
+}
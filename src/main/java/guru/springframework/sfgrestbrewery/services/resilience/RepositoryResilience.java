@@ -0,0 +1,130 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.R2dbcTransientException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Wraps repository calls with a timeout, a bulkhead per operation type and, for reads, jittered retries.
+ * <p>
+ * Reads are primary key lookups, lists are the scans behind the list endpoints, writes are everything that changes
+ * data. Giving each type its own quota keeps a burst of expensive list queries from starving the cheap lookups.
+ * Only transient failures are retried. A timeout is not retried, because the retry would just add more load to an
+ * overloaded database.
+ * <p>
+ * Every call is timed as {@code sfg.repository.calls}, tagged with the call name, the operation type and the outcome.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class RepositoryResilience {
+    private static final String CALLS_METRIC = "sfg.repository.calls";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<OperationType, ResilienceProperties.Policy> policies = new EnumMap<>(OperationType.class);
+    private final Map<OperationType, Bulkhead> bulkheads = new EnumMap<>(OperationType.class);
+    private final Counter retries;
+
+    public RepositoryResilience(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        policies.put(OperationType.READ, properties.getRead());
+        policies.put(OperationType.LIST, properties.getList());
+        policies.put(OperationType.WRITE, properties.getWrite());
+
+        policies.forEach((type, policy) -> {
+            Bulkhead bulkhead = new Bulkhead(type, policy.getMaxConcurrent());
+            bulkheads.put(type, bulkhead);
+            Gauge.builder("sfg.repository.bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                 .tag("type", tagValue(type))
+                 .register(meterRegistry);
+        });
+        this.retries = meterRegistry.counter("sfg.repository.retries");
+    }
+
+    public <T> Mono<T> read(String call, Mono<T> source) {
+        return decorate(OperationType.READ, call, source);
+    }
+
+    public <T> Mono<T> list(String call, Mono<T> source) {
+        return decorate(OperationType.LIST, call, source);
+    }
+
+    /**
+     * The rows are read in full under the list timeout and bulkhead, and only then emitted. The timeout is a deadline
+     * for the whole query, and the permit is back before the consumer has seen a row, so a slow consumer neither holds
+     * it nor fails the query. Nothing has been emitted when the query fails, so it is retried like any other list.
+     */
+    public <T> Flux<T> list(String call, Flux<T> source) {
+        return list(call, source.collectList())
+                .flatMapIterable(Function.identity());
+    }
+
+    public <T> Mono<T> write(String call, Mono<T> source) {
+        return decorate(OperationType.WRITE, call, source);
+    }
+
+    private <T> Mono<T> decorate(OperationType type, String call, Mono<T> source) {
+        ResilienceProperties.Policy policy = policies.get(type);
+
+        Mono<T> attempt = source.timeout(policy.getTimeout());
+        if (type != OperationType.WRITE && policy.getMaxRetries() > 0) {
+            attempt = attempt.retryWhen(Retry.backoff(policy.getMaxRetries(), policy.getRetryBackoff())
+                                             .jitter(0.5)
+                                             .filter(RepositoryResilience::isTransient)
+                                             .doBeforeRetry(signal -> {
+                                                 retries.increment();
+                                                 log.debug("Retrying {} after {}", call, signal.failure().toString());
+                                             })
+                                             .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }
+
+        Mono<T> guarded = bulkheads.get(type).execute(attempt);
+
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return guarded.doOnSuccess(value -> stop(sample, type, call, "success"))
+                          .doOnError(e -> stop(sample, type, call, outcome(e)))
+                          .doOnCancel(() -> stop(sample, type, call, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, OperationType type, String call, String outcome) {
+        sample.stop(Timer.builder(CALLS_METRIC)
+                         .tag("call", call)
+                         .tag("type", tagValue(type))
+                         .tag("outcome", outcome)
+                         .register(meterRegistry));
+    }
+
+    private static boolean isTransient(Throwable e) {
+        return e instanceof TransientDataAccessException || e instanceof R2dbcTransientException;
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof BulkheadFullException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private static String tagValue(OperationType type) {
+        return type.name().toLowerCase();
+    }
+}
@@ -0,0 +1,51 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per operation type policies for {@link RepositoryResilience}, bound from {@code sfg.brewery.resilience.*}.
+ * <p>
+ * The bulkheads split the R2DBC pool ({@code spring.r2dbc.pool.max-size}) into quotas, so their sizes should add up
+ * to no more than the pool.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.resilience")
+public class ResilienceProperties {
+
+    private Policy read = new Policy(Duration.ofMillis(500), 8, 2, Duration.ofMillis(20));
+
+    private Policy list = new Policy(Duration.ofSeconds(2), 4, 1, Duration.ofMillis(50));
+
+    private Policy write = new Policy(Duration.ofSeconds(1), 4, 0, Duration.ofMillis(20));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Policy {
+
+        /**
+         * Per attempt, for the whole query; streamed results must have been read in full by then.
+         */
+        private Duration timeout;
+
+        /**
+         * Calls of this type allowed in flight at once; callers beyond that are rejected right away.
+         */
+        private int maxConcurrent;
+
+        /**
+         * Retries after a transient failure. Ignored for writes, which are never retried.
+         */
+        private int maxRetries;
+
+        /**
+         * Base delay between retries, grown exponentially and jittered.
+         */
+        private Duration retryBackoff;
+    }
+}
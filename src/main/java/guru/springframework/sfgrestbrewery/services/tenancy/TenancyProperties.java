@@ -0,0 +1,63 @@
+package guru.springframework.sfgrestbrewery.services.tenancy;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenants served by this deployment, bound from {@code sfg.brewery.tenancy.*}.
+ * <p>
+ * The default tenant uses the {@code spring.r2dbc.*} database. Every other tenant is listed under {@code tenants} with
+ * the database of its own catalog, which can be a separate server or another schema of a shared one, depending on its
+ * URL. Requests naming a tenant that is not listed are refused.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.tenancy")
+public class TenancyProperties {
+
+    /**
+     * Off serves every request from the default tenant and ignores tenant headers and paths.
+     */
+    private boolean enabled = false;
+
+    private String header = "X-Tenant-Id";
+
+    /**
+     * Alternative to the header: {@code /tenants/{tenant}/api/...} is served as {@code /api/...} for that tenant.
+     */
+    private String pathPrefix = "/tenants/";
+
+    private Map<String, Tenant> tenants = new LinkedHashMap<>();
+
+    @Data
+    public static class Tenant {
+
+        /**
+         * R2DBC URL of the tenant's catalog, e.g. {@code r2dbc:postgresql://db/brewery?schema=acme}.
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Most tenants are near idle, so their pools start empty and stay small.
+         */
+        private int maxPoolSize = 4;
+
+        /**
+         * Idle connections above zero are closed after this long.
+         */
+        private Duration maxIdleTime = Duration.ofMinutes(5);
+
+        /**
+         * Migrates the tenant's database and runs {@code schema.sql} against it at start-up, see {@link
+         * guru.springframework.sfgrestbrewery.config.SchemaMigrations}. Both are idempotent.
+         */
+        private boolean initializeSchema = true;
+    }
+}
@@ -0,0 +1,83 @@
+package guru.springframework.sfgrestbrewery.services.tenancy;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The tenant a request runs for. {@code TenantWebFilter} puts it in the Reactor {@link Context}, which is what routes
+ * connections. With {@code spring.reactor.context-propagation=auto} it is also restored into a thread local for code
+ * that cannot see the Context, such as the SpEL keys of {@code @Cacheable}; see {@link TenantThreadLocalAccessor}.
+ * <p>
+ * Work outside a request, like start-up loading and cache warming, runs for {@link #DEFAULT_TENANT}.
+ */
+public final class TenantContext {
+    public static final String DEFAULT_TENANT = "default";
+
+    /**
+     * For cache keys: {@code key = SCOPED_KEY + "(#beerId)"} keys the entry by the current tenant and the beer id.
+     */
+    public static final String SCOPED_KEY = "T(guru.springframework.sfgrestbrewery.services.tenancy.TenantContext).scoped";
+
+    static final String KEY = "sfg.tenant";
+    static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Function<Context, Context> with(String tenant) {
+        return context -> context.put(KEY, tenant);
+    }
+
+    public static String tenant(ContextView context) {
+        return context.getOrDefault(KEY, DEFAULT_TENANT);
+    }
+
+    /**
+     * From the subscriber's Context, for reactive code.
+     */
+    public static Mono<String> currentTenant() {
+        return Mono.deferContextual(context -> Mono.just(tenant(context)));
+    }
+
+    /**
+     * From the thread local, for code called synchronously while a request is being handled.
+     */
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * Runs {@code assembly} with the thread local set to {@code tenant}, for publishers assembled where nothing has
+     * restored it from a Context yet, such as the RSocket routes.
+     */
+    public static <T> T assembleFor(String tenant, Supplier<T> assembly) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return assembly.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static boolean isDefault(String tenant) {
+        return DEFAULT_TENANT.equals(tenant);
+    }
+
+    /**
+     * The cache key for the current tenant; see {@link TenantKey#of}.
+     */
+    public static Object scoped(Object... keyParts) {
+        return TenantKey.of(current(), keyParts.length == 1 ? keyParts[0] : new SimpleKey(keyParts));
+    }
+}
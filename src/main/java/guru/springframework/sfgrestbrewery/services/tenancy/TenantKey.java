@@ -0,0 +1,19 @@
+package guru.springframework.sfgrestbrewery.services.tenancy;
+
+/**
+ * A cache key of a tenant other than the default one. Default tenant entries keep their plain keys, so the cache
+ * warmer and the snapshot, which only deal with that tenant, see the same keys as before tenancy.
+ */
+public record TenantKey(String tenant, Object key) {
+
+    public static Object of(String tenant, Object key) {
+        return TenantContext.isDefault(tenant) ? key : new TenantKey(tenant, key);
+    }
+
+    /**
+     * Matches the cache keys {@link #of} gives out for {@code tenant}, whatever the key within the tenant.
+     */
+    public static boolean belongsTo(Object cacheKey, String tenant) {
+        return cacheKey instanceof TenantKey tenantKey ? tenantKey.tenant().equals(tenant) : TenantContext.isDefault(tenant);
+    }
+}
@@ -0,0 +1,30 @@
+package guru.springframework.sfgrestbrewery.services.tenancy;
+
+import io.micrometer.context.ThreadLocalAccessor;
+
+/**
+ * Lets Reactor copy the tenant between the Context and {@link TenantContext}'s thread local. Registered through
+ * {@code META-INF/services}, where the context-propagation registry finds it.
+ */
+public class TenantThreadLocalAccessor implements ThreadLocalAccessor<String> {
+
+    @Override
+    public Object key() {
+        return TenantContext.KEY;
+    }
+
+    @Override
+    public String getValue() {
+        return TenantContext.CURRENT.get();
+    }
+
+    @Override
+    public void setValue(String tenant) {
+        TenantContext.CURRENT.set(tenant);
+    }
+
+    @Override
+    public void setValue() {
+        TenantContext.CURRENT.remove();
+    }
+}
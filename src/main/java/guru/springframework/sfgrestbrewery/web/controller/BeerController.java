@@ -1,18 +1,21 @@
 package guru.springframework.sfgrestbrewery.web.controller;
 
+import guru.springframework.sfgrestbrewery.config.CodecConfig;
 import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -28,13 +31,17 @@ public class BeerController {
 
     private final BeerService beerService;
 
-    @GetMapping(produces = {"application/json"}, path = "beer")
-    public ResponseEntity<Mono<BeerPagedList>> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize, @RequestParam(value = "beerName", required = false) String beerName, @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle, @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand) {
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, CodecConfig.APPLICATION_SMILE_VALUE}, path = "beer")
+    public ResponseEntity<Mono<BeerPagedList>> listBeers(@RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize, @RequestParam(value = "beerName", required = false) String beerName, @RequestParam(value = "beerStyle", required = false) BeerStyleEnum beerStyle, @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand, @RequestParam(value = "view", required = false) BeerView view) {
 
         if (showInventoryOnHand == null) {
             showInventoryOnHand = false;
         }
 
+        if (view == null) {
+            view = BeerView.DETAIL;
+        }
+
         if (pageNumber == null || pageNumber < 0) {
             pageNumber = DEFAULT_PAGE_NUMBER;
         }
@@ -43,45 +50,35 @@ public class BeerController {
             pageSize = DEFAULT_PAGE_SIZE;
         }
 
-        return ResponseEntity.ok(beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), showInventoryOnHand));
-    }
-
-    @ExceptionHandler
-    ResponseEntity<Void> handleNotFound(NotFoundException exception) {
-        return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(beerService.listBeers(beerName, beerStyle, PageRequest.of(pageNumber, pageSize), showInventoryOnHand, view));
     }
 
     @GetMapping("beer/{beerId}")
-    public ResponseEntity<Mono<BeerDto>> getBeerById(@PathVariable("beerId") Integer beerId, @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand) {
+    public Mono<ResponseEntity<BeerDto>> getBeerById(@PathVariable("beerId") Integer beerId, @RequestParam(value = "showInventoryOnHand", required = false) Boolean showInventoryOnHand) {
         if (showInventoryOnHand == null) {
             showInventoryOnHand = false;
         }
-        return ResponseEntity.ok(beerService.getById(beerId, showInventoryOnHand)
-                                            .defaultIfEmpty(BeerDto.builder().build())
-                                            .doOnNext(beerDto -> {
-                                                   if (beerDto.getId() == null) {
-                                                       throw new NotFoundException();
-                                                   }
-                                               }));
+        return beerService.getById(beerId, showInventoryOnHand)
+                          .map(ResponseEntity::ok)
+                          .defaultIfEmpty(ResponseEntity.notFound()
+                                                        .build());
     }
 
     @GetMapping("beerUpc/{upc}")
-    public ResponseEntity<Mono<BeerDto>> getBeerByUpc(@PathVariable("upc") String upc) {
-        return ResponseEntity.ok(beerService.getByUpc(upc)
-                                            .defaultIfEmpty(BeerDto.builder().build())
-                                            .doOnNext(beerDto -> {
-                                                if (beerDto.getId() == null) {
-                                                    throw new NotFoundException();
-                                                }
-                                            })
-        );
+    public Mono<ResponseEntity<BeerDto>> getBeerByUpc(@PathVariable("upc") String upc) {
+        return beerService.getByUpc(upc)
+                          .map(ResponseEntity::ok)
+                          .defaultIfEmpty(ResponseEntity.notFound()
+                                                        .build());
     }
 
     @PostMapping(path = "beer")
     public ResponseEntity<Void> saveNewBeer(@RequestBody @Validated BeerDto beerDto) {
         AtomicInteger id = new AtomicInteger();
 
-        Mono<BeerDto> beerDtoMono = beerService.saveNewBeer(beerDto);
+        Mono<BeerDto> beerDtoMono = beerService.saveNewBeer(beerDto)
+                                               //detached from the request, so it would otherwise lose the tenant
+                                               .contextWrite(TenantContext.with(TenantContext.current()));
         beerDtoMono.subscribe(beer -> {
             id.set(beer.getId());
         });
@@ -93,26 +90,19 @@ public class BeerController {
     }
 
     @PutMapping("beer/{beerId}")
-    public ResponseEntity<Void> updateBeerById(@PathVariable("beerId") Integer beerId, @RequestBody @Validated BeerDto beerDto) {
-        AtomicBoolean isUpdated = new AtomicBoolean(false);
-
-        beerService.updateBeer(beerId, beerDto)
-                   .subscribe(savedDto -> {
-                       if (savedDto.getId() != null) {
-                           isUpdated.set(true);
-                       }
-                   });//use .subscribe() to make sure the update was done before response is returned
-
-        return isUpdated.get() ? ResponseEntity.noContent()
-                                               .build() : ResponseEntity.notFound()
-                                                                        .build();
+    public Mono<ResponseEntity<Void>> updateBeerById(@PathVariable("beerId") Integer beerId, @RequestBody @Validated BeerDto beerDto) {
+        return beerService.updateBeer(beerId, beerDto)
+                          .map(savedDto -> ResponseEntity.noContent()
+                                                         .<Void>build())
+                          .defaultIfEmpty(ResponseEntity.notFound()
+                                                        .build());
     }
 
     @DeleteMapping("beer/{beerId}")
-    public ResponseEntity<Void> deleteBeerById(@PathVariable("beerId") Integer beerId) {
-        beerService.deleteBeerById(beerId);
-        return ResponseEntity.ok()
-                             .build();
+    public Mono<ResponseEntity<Void>> deleteBeerById(@PathVariable("beerId") Integer beerId) {
+        return beerService.deleteBeerById(beerId)
+                          .then(Mono.fromSupplier(() -> ResponseEntity.ok()
+                                                                      .<Void>build()));
     }
 
 }
@@ -0,0 +1,43 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerOrderService;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RequestMapping("api/v1/customer/{customerId}/order")
+@RestController
+public class BeerOrderController {
+
+    private static final int DEFAULT_LIMIT = 25;
+    private static final int MAX_LIMIT = 100;
+
+    private final BeerOrderService beerOrderService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<BeerOrderDto> listOrders(@PathVariable("customerId") UUID customerId, @RequestParam(value = "cursor", required = false) UUID cursor, @RequestParam(value = "limit", required = false) Integer limit) {
+        if (limit == null || limit < 1) {
+            limit = DEFAULT_LIMIT;
+        }
+
+        return beerOrderService.listOrders(customerId, cursor, Math.min(limit, MAX_LIMIT));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<BeerOrderDto>> placeOrder(@PathVariable("customerId") UUID customerId, @RequestBody @Validated BeerOrderDto beerOrderDto) {
+        return beerOrderService.placeOrder(customerId, beerOrderDto)
+                               .map(savedDto -> ResponseEntity.created(UriComponentsBuilder.fromPath("/api/v1/customer/{customerId}/order/{orderId}")
+                                                                                           .buildAndExpand(customerId, savedDto.getId())
+                                                                                           .toUri())
+                                                              .body(savedDto));
+    }
+}
@@ -2,53 +2,61 @@ package guru.springframework.sfgrestbrewery.web.controller;
 
 import guru.springframework.sfgrestbrewery.services.CustomerService;
 import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.UUID;
 
 /**
  * Created by jt on 2019-04-21.
  */
-
+@RequiredArgsConstructor
 @RequestMapping("api/v1/customer")
 @RestController
 public class CustomerController {
 
-    private CustomerService customerService;
+    private final CustomerService customerService;
 
-    public CustomerController(CustomerService customerService) {
-        this.customerService = customerService;
+    @GetMapping
+    public Flux<CustomerDto> listCustomers() {
+        return customerService.listCustomers();
     }
 
     @GetMapping("/{customerId}")
-    public ResponseEntity<CustomerDto> getCustomer(@PathVariable("customerId")  UUID customerId){
-
-        return new ResponseEntity<>(customerService.getCustomerById(customerId), HttpStatus.OK);
+    public Mono<ResponseEntity<CustomerDto>> getCustomer(@PathVariable("customerId") UUID customerId) {
+        return customerService.getCustomerById(customerId)
+                              .map(ResponseEntity::ok)
+                              .defaultIfEmpty(ResponseEntity.notFound()
+                                                            .build());
     }
 
     @PostMapping
-    public ResponseEntity handlePost(@RequestBody @Validated CustomerDto customerDto){
-        CustomerDto savedDto = customerService.saveNewCustomer(customerDto);
-
-        HttpHeaders httpHeaders = new HttpHeaders();
-        httpHeaders.add("Location", "/api/v1/customer/" + savedDto.getId().toString());
-
-        return new ResponseEntity(httpHeaders, HttpStatus.CREATED);
+    public Mono<ResponseEntity<Void>> handlePost(@RequestBody @Validated CustomerDto customerDto) {
+        return customerService.saveNewCustomer(customerDto)
+                              .map(savedDto -> ResponseEntity.created(UriComponentsBuilder.fromPath("/api/v1/customer/{customerId}")
+                                                                                          .buildAndExpand(savedDto.getId())
+                                                                                          .toUri())
+                                                             .build());
     }
 
     @PutMapping("/{customerId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void handleUpdate(@PathVariable("customerId") UUID customerId, @Validated @RequestBody CustomerDto customerDto){
-        customerService.updateCustomer(customerId, customerDto);
+    public Mono<ResponseEntity<Void>> handleUpdate(@PathVariable("customerId") UUID customerId, @Validated @RequestBody CustomerDto customerDto) {
+        return customerService.updateCustomer(customerId, customerDto)
+                              .map(savedDto -> ResponseEntity.noContent()
+                                                             .<Void>build())
+                              .defaultIfEmpty(ResponseEntity.notFound()
+                                                            .build());
     }
 
     @DeleteMapping("/{customerId}")
-    public void deleteById(@PathVariable("customerId")  UUID customerId){
-        customerService.deleteById(customerId);
+    public Mono<Void> deleteById(@PathVariable("customerId") UUID customerId) {
+        //a missing customer surfaces as NotFoundException and is turned into a 404 by WebFluxExceptionHandler
+        return customerService.deleteById(customerId);
     }
 
 }
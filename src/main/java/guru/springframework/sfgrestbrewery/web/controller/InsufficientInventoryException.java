@@ -0,0 +1,11 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+/**
+ * An order asked for more of a beer than is on hand.
+ */
+public class InsufficientInventoryException extends RuntimeException {
+
+    public InsufficientInventoryException(Integer beerId) {
+        super("Not enough inventory for beer " + beerId, null, false, false);
+    }
+}
@@ -2,6 +2,12 @@ package guru.springframework.sfgrestbrewery.web.controller;
 
 /**
  * Created by jt on 2019-06-06.
+ * <p>
+ * Carries no stack trace: it is an expected outcome for every miss, and filling in the trace dominated its cost.
  */
 public class NotFoundException extends RuntimeException {
+
+    public NotFoundException() {
+        super(null, null, false, false);
+    }
 }
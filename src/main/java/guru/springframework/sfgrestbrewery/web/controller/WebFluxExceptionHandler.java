@@ -0,0 +1,88 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.services.resilience.BulkheadFullException;
+import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebExceptionHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reactive replacement for the old MVC controller advice. Maps the exceptions the app raises on purpose
+ * to status codes for both the annotated and the functional endpoints, and leaves everything else to
+ * Spring Boot's default error handler (which runs at order -1).
+ */
+@Order(-2)
+@Component
+@RequiredArgsConstructor
+public class WebFluxExceptionHandler implements WebExceptionHandler {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            return Mono.error(ex);
+        }
+
+        if (ex instanceof NotFoundException) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return response.setComplete();
+        }
+
+        if (ex instanceof BulkheadFullException || ex instanceof TimeoutException) {
+            //the database is saturated or slow, ask the client to come back rather than queue more work on it
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return response.setComplete();
+        }
+
+        if (ex instanceof InsufficientInventoryException inventoryException) {
+            return writeErrors(response, HttpStatus.CONFLICT, List.of(inventoryException.getMessage()));
+        }
+
+        if (ex instanceof WebExchangeBindException bindException) {
+            return writeErrors(response, HttpStatus.BAD_REQUEST, bindException.getFieldErrors()
+                                                      .stream()
+                                                      .map(fieldError -> fieldError.getField() + " : " + fieldError.getDefaultMessage())
+                                                      .toList());
+        }
+
+        if (ex instanceof ConstraintViolationException violationException) {
+            return writeErrors(response, HttpStatus.BAD_REQUEST, violationException.getConstraintViolations()
+                                                           .stream()
+                                                           .map(violation -> violation.getPropertyPath() + " : " + violation.getMessage())
+                                                           .toList());
+        }
+
+        return Mono.error(ex);
+    }
+
+    private Mono<Void> writeErrors(ServerHttpResponse response, HttpStatus status, List<String> errors) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(errors);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,77 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of TCP Vegas / the gradient limiters.
+ * <p>
+ * The best latency seen is taken as the no-queueing baseline. While samples stay within {@code tolerance} of it the
+ * limit grows by roughly {@code sqrt(limit)}; once they rise above it the limit shrinks in proportion, down to half per
+ * step. Requests beyond the limit are rejected right away instead of queueing on the connection pool.
+ */
+class AdaptiveConcurrencyLimiter {
+    //the baseline is re-taken periodically so it can follow a real change in query cost
+    private static final int BASELINE_RESET_SAMPLES = 1000;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private long baselineNanos = Long.MAX_VALUE;
+    private int samplesSinceReset;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param latencyNanos time the request held its permit
+     * @param sample       false when the latency says nothing about capacity, e.g. the client went away
+     */
+    void release(long latencyNanos, boolean sample) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (sample) {
+            onSample(latencyNanos, inFlightAtRelease);
+        }
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtRelease) {
+        if (latencyNanos < baselineNanos || ++samplesSinceReset >= BASELINE_RESET_SAMPLES) {
+            baselineNanos = Math.max(1, latencyNanos);
+            samplesSinceReset = 0;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / Math.max(1, latencyNanos)));
+
+        //a mostly idle server proves nothing about its capacity, so only grow when the limit was actually used
+        if (gradient >= 1.0 && inFlightAtRelease < limit / 2) {
+            return;
+        }
+
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
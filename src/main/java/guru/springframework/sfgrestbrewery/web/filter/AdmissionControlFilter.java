@@ -0,0 +1,123 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sheds load on the {@code /api} routes before it reaches the R2DBC pool.
+ * <ul>
+ *     <li>a token bucket per client and route answers {@code 429} once a client exceeds its rate</li>
+ *     <li>an adaptive concurrency limit answers {@code 503} once latency shows requests are queueing</li>
+ * </ul>
+ * Rejections are cheap and immediate, so latency for admitted requests stays bounded during a surge.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlFilter implements WebFilter {
+    private static final String API_PREFIX = "/api/";
+
+    private final AdmissionControlProperties properties;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Map<String, TokenBucket> buckets;
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        //access ordered, so reaching the cap drops the client that has been quiet the longest, one per insert
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > properties.getMaxBuckets();
+            }
+        };
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(properties.getInitialConcurrencyLimit(),
+                properties.getMinConcurrencyLimit(), properties.getMaxConcurrencyLimit(), properties.getLatencyTolerance());
+
+        Gauge.builder("sfg.admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+             .register(meterRegistry);
+        Gauge.builder("sfg.admission.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+             .register(meterRegistry);
+        this.rateLimited = meterRegistry.counter("sfg.admission.rejected", "reason", "rate-limit");
+        this.overloaded = meterRegistry.counter("sfg.admission.rejected", "reason", "overload");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!properties.isEnabled() || !path.startsWith(API_PREFIX)) {
+            return chain.filter(exchange);
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(clientKey(exchange) + routeKey(path), now);
+        if (!bucket.tryConsume(now)) {
+            rateLimited.increment();
+            return reject(exchange.getResponse(), HttpStatus.TOO_MANY_REQUESTS, bucket.secondsUntilNextToken(now));
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloaded.increment();
+            return reject(exchange.getResponse(), HttpStatus.SERVICE_UNAVAILABLE, 1);
+        }
+
+        //a cancelled request was cut short by the client, its latency says nothing about our capacity
+        return chain.filter(exchange)
+                    .doFinally(signal -> concurrencyLimiter.release(System.nanoTime() - now, signal != SignalType.CANCEL));
+    }
+
+    private TokenBucket bucketFor(String key, long now) {
+        synchronized (buckets) {
+            return buckets.computeIfAbsent(key, k -> new TokenBucket(properties.getBurst(), properties.getRatePerSecond(), now));
+        }
+    }
+
+    int bucketCount() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    private static Mono<Void> reject(ServerHttpResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return response.setComplete();
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        //behind a proxy, enable server.forward-headers-strategy so this is the real client
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : "unknown";
+    }
+
+    /**
+     * The first three path segments, e.g. {@code /api/v1/beer} for {@code /api/v1/beer/12}, so ids do not create routes.
+     */
+    static String routeKey(String path) {
+        int end = 0;
+        for (int segments = 0; segments < 3 && end >= 0; segments++) {
+            end = path.indexOf('/', end + 1);
+        }
+        return end < 0 ? path : path.substring(0, end);
+    }
+}
@@ -0,0 +1,38 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for {@link AdmissionControlFilter}, bound from {@code sfg.brewery.admission.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "sfg.brewery.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Sustained requests per second allowed for one client on one route.
+     */
+    private double ratePerSecond = 100;
+
+    /**
+     * Requests a client may send in a burst before the sustained rate applies.
+     */
+    private int burst = 200;
+
+    /**
+     * Upper bound on tracked client/route buckets; the least recently used one is dropped once it is reached.
+     */
+    private int maxBuckets = 10_000;
+
+    private int initialConcurrencyLimit = 20;
+    private int minConcurrencyLimit = 4;
+    private int maxConcurrencyLimit = 200;
+
+    /**
+     * How far latency may rise above the best observed latency before the concurrency limit is pulled in.
+     */
+    private double latencyTolerance = 2.0;
+}
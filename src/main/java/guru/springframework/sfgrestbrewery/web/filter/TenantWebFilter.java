@@ -0,0 +1,70 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the tenant of a request from the tenant header or from a {@code /tenants/{tenant}} path prefix, which is
+ * stripped so the usual routes match. Requests naming neither are for the default tenant. Unknown tenants get a 404,
+ * and a header and path that disagree a 400.
+ * <p>
+ * Runs ahead of {@link AdmissionControlFilter}, which only looks at {@code /api/} paths.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@RequiredArgsConstructor
+public class TenantWebFilter implements WebFilter {
+
+    private final TenancyProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        String tenant = exchange.getRequest().getHeaders().getFirst(properties.getHeader());
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        ServerWebExchange routed = exchange;
+
+        if (path.startsWith(properties.getPathPrefix())) {
+            int end = path.indexOf('/', properties.getPathPrefix().length());
+            String pathTenant = path.substring(properties.getPathPrefix().length(), end < 0 ? path.length() : end);
+            if (tenant != null && !tenant.equals(pathTenant)) {
+                return reject(exchange, HttpStatus.BAD_REQUEST);
+            }
+
+            String remainingPath = end < 0 ? "/" : path.substring(end);
+            tenant = pathTenant;
+            routed = exchange.mutate()
+                             .request(request -> request.path(remainingPath))
+                             .build();
+        }
+
+        if (tenant == null) {
+            tenant = TenantContext.DEFAULT_TENANT;
+        } else if (!TenantContext.isDefault(tenant) && !properties.getTenants().containsKey(tenant)) {
+            log.debug("Refusing request for unknown tenant {}", tenant);
+            return reject(exchange, HttpStatus.NOT_FOUND);
+        }
+
+        return chain.filter(routed)
+                    .contextWrite(TenantContext.with(tenant));
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,46 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens and refills continuously at a fixed rate.
+ * Time is passed in by the caller, which keeps the bucket free of clock lookups and easy to test.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Whole seconds until the next token is available, at least one, for a {@code Retry-After} header.
+     */
+    synchronized long secondsUntilNextToken(long nowNanos) {
+        refill(nowNanos);
+        double missingNanos = (1 - tokens) / tokensPerNano;
+        return Math.max(1, (long) Math.ceil(missingNanos / 1_000_000_000d));
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
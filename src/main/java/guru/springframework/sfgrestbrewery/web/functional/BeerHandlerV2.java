@@ -2,11 +2,20 @@ package guru.springframework.sfgrestbrewery.web.functional;
 
 
 import guru.springframework.sfgrestbrewery.services.BeerService;
-import guru.springframework.sfgrestbrewery.web.controller.NotFoundException;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import guru.springframework.sfgrestbrewery.web.functional.EncodedBeerResponseCache.EncodedBeer;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
@@ -16,30 +25,130 @@ import org.springframework.web.server.ServerWebInputException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static guru.springframework.sfgrestbrewery.config.CodecConfig.APPLICATION_SMILE;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BeerHandlerV2 {
     private static final String LOCATION_PATH = "http://localhost:8080/api/v2/beer/";
     private static final String BEER_ID = "beerId";
+    private static final List<MediaType> BEER_TYPES = List.of(APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE);
+    private static final List<MediaType> BEER_CHANGE_TYPES = List.of(APPLICATION_JSON, APPLICATION_NDJSON);
+    private static final int DEFAULT_PAGE_NUMBER = 0;
+    private static final int DEFAULT_PAGE_SIZE = 25;
     private final BeerService beerService;
     private final Validator validator;
+    private final EncodedBeerResponseCache encodedBeerCache;
+
+    public Mono<ServerResponse> listBeers(ServerRequest request) {
+        PageRequest pageRequest;
+        Integer cursor;
+        BeerStyleEnum beerStyle;
+        Set<BeerField> fields;
+        boolean inventoryView;
+        try {
+            int pageNumber = getIntParam(request, "pageNumber", DEFAULT_PAGE_NUMBER);
+            int pageSize = getIntParam(request, "pageSize", DEFAULT_PAGE_SIZE);
+            pageRequest = PageRequest.of(Math.max(pageNumber, 0), pageSize < 1 ? DEFAULT_PAGE_SIZE : pageSize);
+            cursor = request.queryParam("cursor")
+                            .map(Integer::valueOf)
+                            .orElse(null);
+            //a cursor already says where the page starts
+            if (cursor != null && request.queryParam("pageNumber").isPresent()) {
+                throw new IllegalArgumentException("pageNumber and cursor cannot be combined");
+            }
+            beerStyle = request.queryParam("beerStyle")
+                               .map(BeerStyleEnum::fromName)
+                               .orElse(null);
+            //explicit fields win over a named view
+            String requestedFields = request.queryParam("fields")
+                                            .orElse(null);
+            BeerView view = requestedFields != null ?
+                    null :
+                    request.queryParam("view")
+                           .map(BeerView::valueOf)
+                           .orElse(BeerView.DETAIL);
+            fields = view != null ? view.getFields() : BeerField.parse(requestedFields);
+            inventoryView = view == BeerView.INVENTORY;
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ServerWebInputException(e.getMessage()));
+        }
+
+        String beerName = request.queryParam("beerName")
+                                 .orElse(null);
+        //fields=quantityOnHand alone does not show stock levels, only the flag or the inventory view do
+        Boolean showInventory = inventoryView || Boolean.parseBoolean(request.queryParam("showInventoryOnHand")
+                                                                             .orElse("false"));
+
+        return beerService.listBeerPage(beerName, beerStyle, pageRequest, cursor, showInventory, fields)
+                          .flatMap(beerPage -> ServerResponse.ok()
+                                                             .contentType(negotiateContentType(request, BEER_TYPES))
+                                                             .bodyValue(beerPage));
+    }
+
+    private int getIntParam(ServerRequest request, String name, int defaultValue) {
+        return request.queryParam(name)
+                      .map(Integer::parseInt)
+                      .orElse(defaultValue);
+    }
 
     public Mono<ServerResponse> getBeerById(ServerRequest request) {
         Boolean showInventory = Boolean.valueOf((request.queryParam("showInventory")
                                                         .orElse("false")));
+        Integer beerId = getBeerId(request);
+        MediaType contentType = negotiateContentType(request, BEER_TYPES);
+
+        if (showInventory || !APPLICATION_JSON.equals(contentType)) {
+            return beerService.getById(beerId, showInventory)
+                              .flatMap(beerDto -> ServerResponse.ok()
+                                                                .contentType(contentType)
+                                                                .bodyValue(beerDto))
+                              .switchIfEmpty(ServerResponse.notFound().build());
+        }
+
+        String tenant = TenantContext.current();
+        EncodedBeer cached = encodedBeerCache.get(tenant, beerId);
+        //taken before the read, so a change committed while it runs keeps the stale beer out of the cache
+        long generation = encodedBeerCache.generation(tenant, beerId);
+        Mono<EncodedBeer> encodedBeer = cached != null ?
+                Mono.just(cached) :
+                beerService.getById(beerId, false)
+                           .map(beerDto -> encodedBeerCache.put(tenant, beerDto, generation));
 
-        return beerService.getById(getBeerId(request), showInventory)
-                          .flatMap(beerDto -> ServerResponse.ok().bodyValue(beerDto))
-                          .onErrorResume(e -> ServerResponse.notFound().build());
+        return encodedBeer.flatMap(encoded -> writeEncodedBeer(request, encoded))
+                          .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private Mono<ServerResponse> writeEncodedBeer(ServerRequest request, EncodedBeer encoded) {
+        return request.checkNotModified(encoded.eTag())
+                      .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                                                    .contentType(APPLICATION_JSON)
+                                                                    .eTag(encoded.eTag())
+                                                                    //the server may still compress it
+                                                                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                                                                    //wrapping hands the cached array to the server without copying it
+                                                                    .body((message, context) -> message.writeWith(
+                                                                            Mono.fromSupplier(() -> message.bufferFactory().wrap(encoded.body()))))));
     }
 
     public Mono<ServerResponse> getBeerByUpc(ServerRequest request) {
         String upc = request.pathVariable("upc");
 
         return beerService.getByUpc(upc)
-                          .flatMap(beerDto -> ServerResponse.ok().bodyValue(beerDto))
-                          .onErrorResume(e -> ServerResponse.notFound().build());
+                          .flatMap(beerDto -> ServerResponse.ok()
+                                                            .contentType(negotiateContentType(request, BEER_TYPES))
+                                                            .bodyValue(beerDto))
+                          .switchIfEmpty(ServerResponse.notFound().build());
     }
 
     public Mono<ServerResponse> createNewBeer(ServerRequest request) {
@@ -68,15 +177,43 @@ public class BeerHandlerV2 {
                                            .doOnNext(this::validate);
 
         return beerService.updateBeerMono(getBeerId(request), beerDtoMono)
-                          .flatMap(beerDto -> beerDto.getId() != null ?
-                                  ServerResponse.noContent().build() :
-                                  ServerResponse.notFound().build());
+                          .flatMap(beerDto -> ServerResponse.noContent().build())
+                          .switchIfEmpty(ServerResponse.notFound().build());
     }
 
     public Mono<ServerResponse> deleteBeer(ServerRequest request) {
+        //a missing beer surfaces as NotFoundException and is turned into a 404 by WebFluxExceptionHandler
         return beerService.reactiveDeleteById(getBeerId(request))
-                          .flatMap(voidMono -> ServerResponse.noContent().build())
-                          .onErrorResume(e -> ServerResponse.notFound().build());
+                          .then(ServerResponse.noContent().build());
+    }
+
+    public Mono<ServerResponse> listBeerChanges(ServerRequest request) {
+        return Mono.justOrEmpty(request.queryParam("since"))
+                   .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Query parameter 'since' is required")))
+                   .map(LocalDateTime::parse)
+                   .onErrorMap(DateTimeParseException.class,
+                           e -> new ServerWebInputException("Query parameter 'since' must be an ISO local date-time"))
+                   .flatMap(since -> ServerResponse.ok()
+                                                   .contentType(negotiateContentType(request, BEER_CHANGE_TYPES))
+                                                   .body(beerService.listBeerChanges(since), BeerChangeDto.class));
+    }
+
+    /**
+     * Functional endpoints hand the body to the first writer able to encode it, so the content type has to be picked
+     * from the Accept header up front. Falls back to the first producible type.
+     */
+    private MediaType negotiateContentType(ServerRequest request, List<MediaType> producibleTypes) {
+        List<MediaType> acceptedTypes = new ArrayList<>(request.headers().accept());
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType producibleType : producibleTypes) {
+                if (acceptedType.isCompatibleWith(producibleType)) {
+                    return producibleType;
+                }
+            }
+        }
+        return producibleTypes.get(0);
     }
 
     private Integer getBeerId(ServerRequest req) {
@@ -2,27 +2,36 @@ package guru.springframework.sfgrestbrewery.web.functional;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RequestPredicate;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static guru.springframework.sfgrestbrewery.config.CodecConfig.APPLICATION_SMILE;
+import static org.springframework.http.MediaType.APPLICATION_CBOR;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 import static org.springframework.web.reactive.function.server.RequestPredicates.accept;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
 
 @Configuration
 public class BeerRouterConfig {
     private static final String API_V2_BEER = "/api/v2/beer";
+    private static final String API_V2_BEER_CHANGES_PATH = "/api/v2/beer/changes";
     private static final String API_V2_BEER_ID_PATH = "/api/v2/beer/{beerId}";
     private static final String API_V2_BEER_UPC_PATH = "/api/v2/beerUpc/{upc}";
+    private static final RequestPredicate ACCEPT_BEER_TYPES = accept(APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE);
 
     @Bean
     public RouterFunction<ServerResponse> beerRoutesV2(BeerHandlerV2 handlerV2) {
 
-        return route().GET(API_V2_BEER_ID_PATH, accept(APPLICATION_JSON), handlerV2::getBeerById)
-                      .GET(API_V2_BEER_UPC_PATH, accept(APPLICATION_JSON), handlerV2::getBeerByUpc)
-                      .POST(API_V2_BEER, accept(APPLICATION_JSON), handlerV2::createNewBeer)
-                      .PUT(API_V2_BEER_ID_PATH, accept(APPLICATION_JSON), handlerV2::updateBeer)
-                      .DELETE(API_V2_BEER_ID_PATH, accept(APPLICATION_JSON), handlerV2::deleteBeer)
+        //changes must be registered ahead of {beerId}, which would otherwise match it
+        return route().GET(API_V2_BEER_CHANGES_PATH, accept(APPLICATION_JSON, APPLICATION_NDJSON), handlerV2::listBeerChanges)
+                      .GET(API_V2_BEER, ACCEPT_BEER_TYPES, handlerV2::listBeers)
+                      .GET(API_V2_BEER_ID_PATH, ACCEPT_BEER_TYPES, handlerV2::getBeerById)
+                      .GET(API_V2_BEER_UPC_PATH, ACCEPT_BEER_TYPES, handlerV2::getBeerByUpc)
+                      .POST(API_V2_BEER, ACCEPT_BEER_TYPES, handlerV2::createNewBeer)
+                      .PUT(API_V2_BEER_ID_PATH, ACCEPT_BEER_TYPES, handlerV2::updateBeer)
+                      .DELETE(API_V2_BEER_ID_PATH, ACCEPT_BEER_TYPES, handlerV2::deleteBeer)
                       .build();
     }
 }
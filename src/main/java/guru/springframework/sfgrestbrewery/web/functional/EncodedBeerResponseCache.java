@@ -0,0 +1,113 @@
+package guru.springframework.sfgrestbrewery.web.functional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps single-beer responses as the bytes that go on the wire, so hot reads skip both the repository and JSON
+ * serialization. Only the default view without inventory is kept, since stock levels change far more often than the
+ * rest of a beer. Entries are dropped when the beer changes, and the least recently read one makes room when the
+ * cache is full.
+ * <p>
+ * A reader takes the {@link #generation} of its key before it loads the beer and hands it to {@link #put}. Every
+ * eviction bumps the generation, so a beer that changed while it was being loaded is served but not kept.
+ * <p>
+ * The bytes are always uncompressed JSON. A single beer is a few hundred bytes, well under the size where gzip pays
+ * for itself, and larger responses are compressed by the server, see {@code server.compression.*}.
+ */
+@Slf4j
+@Component
+public class EncodedBeerResponseCache {
+    //generations are striped rather than kept per key, a collision only costs a skipped put
+    private static final int GENERATION_STRIPES = 256;
+
+    //access ordered, guarded by itself, as are the generations
+    private final LinkedHashMap<Key, EncodedBeer> entries;
+    private final long[] generations = new long[GENERATION_STRIPES];
+    private final ObjectMapper objectMapper;
+
+    public EncodedBeerResponseCache(ObjectMapper objectMapper,
+                                    @Value("${sfg.brewery.encoded-cache.max-entries:10000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, EncodedBeer> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public EncodedBeer get(String tenant, Integer beerId) {
+        synchronized (entries) {
+            return entries.get(new Key(tenant, beerId));
+        }
+    }
+
+    public long generation(String tenant, Integer beerId) {
+        synchronized (entries) {
+            return generations[stripe(new Key(tenant, beerId))];
+        }
+    }
+
+    /**
+     * Encodes the beer and keeps it unless its key was evicted since {@code generation} was taken.
+     */
+    public EncodedBeer put(String tenant, BeerDto beerDto, long generation) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(beerDto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        EncodedBeer encoded = new EncodedBeer(json, eTag(beerDto));
+        Key key = new Key(tenant, beerDto.getId());
+        synchronized (entries) {
+            if (generations[stripe(key)] == generation) {
+                entries.put(key, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    @EventListener
+    public void onBeerChanged(BeerChangedEvent event) {
+        log.debug("Evicting encoded responses for beer {}", event.beerId());
+        Key key = new Key(event.tenant(), event.beerId());
+        synchronized (entries) {
+            generations[stripe(key)]++;
+            entries.remove(key);
+        }
+    }
+
+    private static int stripe(Key key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private String eTag(BeerDto beerDto) {
+        return "\"" + beerDto.getId() + "-" + beerDto.getVersion() + "\"";
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    record Key(String tenant, Integer beerId) {
+    }
+
+    public record EncodedBeer(byte[] body, String eTag) {
+    }
+}
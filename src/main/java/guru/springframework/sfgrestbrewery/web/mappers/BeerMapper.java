@@ -2,6 +2,7 @@ package guru.springframework.sfgrestbrewery.web.mappers;
 
 import guru.springframework.sfgrestbrewery.domain.Beer;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -12,9 +13,17 @@ import org.mapstruct.Mapping;
 public interface BeerMapper {
 
     @Mapping(target = "quantityOnHand", ignore = true)
+    @Mapping(target = "lastUpdatedDate", source = "lastModifiedDate")
     BeerDto beerToBeerDto(Beer beer);
 
+    @Mapping(target = "lastUpdatedDate", source = "lastModifiedDate")
     BeerDto beerToBeerDtoWithInventory(Beer beer);
 
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModifiedDate", source = "lastUpdatedDate")
     Beer beerDtoToBeer(BeerDto dto);
+
+    default BeerStyleEnum toBeerStyle(String beerStyle) {
+        return BeerStyleEnum.fromName(beerStyle);
+    }
 }
@@ -0,0 +1,20 @@
+package guru.springframework.sfgrestbrewery.web.mappers;
+
+import guru.springframework.sfgrestbrewery.domain.BeerOrder;
+import guru.springframework.sfgrestbrewery.domain.BeerOrderLine;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderLineDto;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper
+public interface BeerOrderMapper {
+
+    //lines are attached by the service, they are loaded in batches separately from the headers
+    @Mapping(target = "beerOrderLines", ignore = true)
+    @Mapping(target = "lastUpdatedDate", source = "lastModifiedDate")
+    BeerOrderDto beerOrderToBeerOrderDto(BeerOrder beerOrder);
+
+    @Mapping(target = "beer", ignore = true)
+    BeerOrderLineDto beerOrderLineToBeerOrderLineDto(BeerOrderLine beerOrderLine);
+}
@@ -0,0 +1,26 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the incremental sync feed: either the current state of a beer, or a tombstone when it was deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerChangeDto {
+
+    private Integer beerId;
+    private String upc;
+    private boolean deleted;
+    private LocalDateTime changedDate;
+
+    //null for deleted beers
+    private BeerDto beer;
+}
@@ -22,18 +22,34 @@ public class BeerDto {
     @Null
     private Integer id;
 
+    private Long version;
+
     @NotBlank
     private String beerName;
 
     @NotBlank
+    @ValidBeerStyle
     private String beerStyle;
 
     private String upc;
 
-    private BigDecimal price;
+    private Money price;
 
     private Integer quantityOnHand;
 
     private LocalDateTime createdDate;
     private LocalDateTime lastUpdatedDate;
+
+    public static class BeerDtoBuilder {
+
+        public BeerDtoBuilder price(BigDecimal price) {
+            this.price = Money.of(price);
+            return this;
+        }
+
+        public BeerDtoBuilder price(Money price) {
+            this.price = price;
+            return this;
+        }
+    }
 }
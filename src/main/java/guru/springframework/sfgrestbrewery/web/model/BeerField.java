@@ -0,0 +1,68 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Beer properties a client can ask for with {@code ?fields=}, and the column each one is read from. Only the
+ * requested columns are selected, and fields left null are not written out.
+ */
+public enum BeerField {
+
+    ID("id", "id"),
+    VERSION("version", "version"),
+    BEER_NAME("beerName", "beer_name"),
+    BEER_STYLE("beerStyle", "beer_style"),
+    UPC("upc", "upc"),
+    PRICE("price", "price_minor"),
+    QUANTITY_ON_HAND("quantityOnHand", "quantity_on_hand"),
+    CREATED_DATE("createdDate", "created_date"),
+    LAST_UPDATED_DATE("lastUpdatedDate", "last_modified_date");
+
+    public static final Set<BeerField> ALL = Collections.unmodifiableSet(EnumSet.allOf(BeerField.class));
+
+    private final String property;
+    private final String column;
+
+    BeerField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Parses a comma separated list of property names, e.g. {@code id,beerName,price}. The id is always included,
+     * it is the cursor for the next page.
+     *
+     * @throws IllegalArgumentException for a name that is not a beer property
+     */
+    public static Set<BeerField> parse(String fields) {
+        Set<BeerField> parsed = EnumSet.of(ID);
+
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            parsed.add(fromProperty(property));
+        }
+        return parsed;
+    }
+
+    private static BeerField fromProperty(String property) {
+        for (BeerField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown beer field: " + property);
+    }
+}
@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Filters for the RSocket {@code beer.list} stream, the counterpart of the v2 list query parameters. Paging is left
+ * out: the stream walks the whole result with a keyset cursor, as fast as the requester asks for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerListRequest {
+
+    private String beerName;
+    private String beerStyle;
+
+    //comma separated property names, as for ?fields=, and like it wins over view
+    private String fields;
+    private BeerView view;
+
+    private boolean showInventoryOnHand;
+
+    //rows fetched per query, not per emission
+    private Integer pageSize;
+}
@@ -0,0 +1,34 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Null;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerOrderDto {
+
+    @Null
+    private UUID id;
+
+    private UUID customerId;
+
+    private BeerOrderStatusEnum orderStatus;
+
+    @Valid
+    @NotEmpty
+    private List<BeerOrderLineDto> beerOrderLines;
+
+    private LocalDateTime createdDate;
+    private LocalDateTime lastUpdatedDate;
+}
@@ -0,0 +1,29 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Null;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeerOrderLineDto {
+
+    @Null
+    private Integer id;
+
+    @NotNull
+    private Integer beerId;
+
+    @NotNull
+    @Positive
+    private Integer orderQuantity;
+
+    //filled in on reads only
+    private BeerDto beer;
+}
@@ -0,0 +1,7 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+
+public enum BeerOrderStatusEnum {
+
+    NEW, READY, PICKED_UP
+}
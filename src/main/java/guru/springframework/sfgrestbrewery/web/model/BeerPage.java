@@ -0,0 +1,38 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Lean page of beers used by the v2 API. Unlike {@link BeerPagedList} it carries no Spring {@code pageable}/{@code sort}
+ * structures, only the content, paging position and a keyset cursor for the next page.
+ */
+@Getter
+@JsonSerialize(using = BeerPageSerializer.class)
+public class BeerPage {
+
+    private final List<BeerDto> content;
+    private final int page;
+    private final int size;
+    private final long total;
+
+    //id to pass as 'cursor' for the following page, null on the last page
+    private final Integer nextCursor;
+
+    @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
+    public BeerPage(@JsonProperty("content") List<BeerDto> content,
+                    @JsonProperty("page") int page,
+                    @JsonProperty("size") int size,
+                    @JsonProperty("total") long total,
+                    @JsonProperty("nextCursor") Integer nextCursor) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+}
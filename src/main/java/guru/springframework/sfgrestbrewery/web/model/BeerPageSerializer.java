@@ -0,0 +1,101 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link BeerPage} straight to the generator: field names are pre-encoded and each {@link BeerDto} is
+ * streamed field by field instead of going through the reflective bean serializer. Null fields are skipped.
+ */
+public class BeerPageSerializer extends StdSerializer<BeerPage> {
+
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE = new SerializedString("page");
+    private static final SerializedString SIZE = new SerializedString("size");
+    private static final SerializedString TOTAL = new SerializedString("total");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString BEER_NAME = new SerializedString("beerName");
+    private static final SerializedString BEER_STYLE = new SerializedString("beerStyle");
+    private static final SerializedString UPC = new SerializedString("upc");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString QUANTITY_ON_HAND = new SerializedString("quantityOnHand");
+
+    public BeerPageSerializer() {
+        super(BeerPage.class);
+    }
+
+    @Override
+    public void serialize(BeerPage page, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(page);
+
+        gen.writeFieldName(CONTENT);
+        gen.writeStartArray(page.getContent(), page.getContent().size());
+        for (BeerDto beer : page.getContent()) {
+            writeBeer(beer, gen, provider);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(PAGE);
+        gen.writeNumber(page.getPage());
+        gen.writeFieldName(SIZE);
+        gen.writeNumber(page.getSize());
+        gen.writeFieldName(TOTAL);
+        gen.writeNumber(page.getTotal());
+
+        if (page.getNextCursor() != null) {
+            gen.writeFieldName(NEXT_CURSOR);
+            gen.writeNumber(page.getNextCursor());
+        }
+
+        gen.writeEndObject();
+    }
+
+    private void writeBeer(BeerDto beer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(beer);
+
+        if (beer.getId() != null) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(beer.getId());
+        }
+        if (beer.getVersion() != null) {
+            gen.writeFieldName(VERSION);
+            gen.writeNumber(beer.getVersion());
+        }
+        if (beer.getBeerName() != null) {
+            gen.writeFieldName(BEER_NAME);
+            gen.writeString(beer.getBeerName());
+        }
+        if (beer.getBeerStyle() != null) {
+            gen.writeFieldName(BEER_STYLE);
+            gen.writeString(beer.getBeerStyle());
+        }
+        if (beer.getUpc() != null) {
+            gen.writeFieldName(UPC);
+            gen.writeString(beer.getUpc());
+        }
+        if (beer.getPrice() != null) {
+            gen.writeFieldName(PRICE);
+            MoneySerializer.write(beer.getPrice(), gen);
+        }
+        if (beer.getQuantityOnHand() != null) {
+            gen.writeFieldName(QUANTITY_ON_HAND);
+            gen.writeNumber(beer.getQuantityOnHand());
+        }
+        //dates go through the configured serializer so they keep the same format as everywhere else
+        if (beer.getCreatedDate() != null) {
+            provider.defaultSerializeField("createdDate", beer.getCreatedDate(), gen);
+        }
+        if (beer.getLastUpdatedDate() != null) {
+            provider.defaultSerializeField("lastUpdatedDate", beer.getLastUpdatedDate(), gen);
+        }
+
+        gen.writeEndObject();
+    }
+}
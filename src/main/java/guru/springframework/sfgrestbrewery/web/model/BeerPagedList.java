@@ -2,8 +2,8 @@ package guru.springframework.sfgrestbrewery.web.model;
 
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +14,8 @@ import java.util.List;
 /**
  * Created by jt on 2019-05-12.
  */
+//pageable, sort and the derived flags are skipped while parsing instead of being read into throwaway trees
+@JsonIgnoreProperties(value = {"pageable", "sort"}, allowGetters = true, ignoreUnknown = true)
 public class BeerPagedList extends PageImpl<BeerDto> implements Serializable {
 
     static final long serialVersionUID = 1114715135625836949L;
@@ -22,13 +24,7 @@ public class BeerPagedList extends PageImpl<BeerDto> implements Serializable {
     public BeerPagedList(@JsonProperty("content") List<BeerDto> content,
                          @JsonProperty("number") int number,
                          @JsonProperty("size") int size,
-                         @JsonProperty("totalElements") Long totalElements,
-                         @JsonProperty("pageable") JsonNode pageable,
-                         @JsonProperty("last") boolean last,
-                         @JsonProperty("totalPages") int totalPages,
-                         @JsonProperty("sort") JsonNode sort,
-                         @JsonProperty("first") boolean first,
-                         @JsonProperty("numberOfElements") int numberOfElements) {
+                         @JsonProperty("totalElements") Long totalElements) {
 
         super(content, PageRequest.of(number, size), totalElements);
     }
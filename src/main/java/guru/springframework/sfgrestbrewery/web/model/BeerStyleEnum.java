@@ -1,7 +1,70 @@
 package guru.springframework.sfgrestbrewery.web.model;
 
 
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stored as its {@link #getCode() code} in a {@code SMALLINT} column. Codes are fixed per style rather than taken
+ * from the ordinal, so styles can be reordered or added anywhere; never reuse the code of a removed one.
+ */
 public enum BeerStyleEnum {
 
-    LAGER, PILSNER, STOUT, GOSE, PORTER, ALE, WHEAT, IPA, PALE_ALE, SAISON
+    LAGER(0), PILSNER(1), STOUT(2), GOSE(3), PORTER(4), ALE(5), WHEAT(6), IPA(7), PALE_ALE(8), SAISON(9);
+
+    private static final BeerStyleEnum[] BY_CODE;
+    private static final Map<String, BeerStyleEnum> BY_NAME = new HashMap<>();
+
+    static {
+        int maxCode = 0;
+        for (BeerStyleEnum style : values()) {
+            maxCode = Math.max(maxCode, style.code);
+            BY_NAME.put(style.name(), style);
+        }
+        BY_CODE = new BeerStyleEnum[maxCode + 1];
+        for (BeerStyleEnum style : values()) {
+            BY_CODE[style.code] = style;
+        }
+    }
+
+    private final short code;
+
+    BeerStyleEnum(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a code no style has
+     */
+    public static BeerStyleEnum fromCode(int code) {
+        BeerStyleEnum style = code >= 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (style == null) {
+            throw new IllegalArgumentException("Unknown beer style code: " + code);
+        }
+        return style;
+    }
+
+    /**
+     * The style with this exact name, null for null.
+     *
+     * @throws IllegalArgumentException for a name no style has
+     */
+    public static BeerStyleEnum fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        BeerStyleEnum style = BY_NAME.get(name);
+        if (style == null) {
+            throw new IllegalArgumentException("Unknown beer style: " + name);
+        }
+        return style;
+    }
+
+    public static boolean isValid(String name) {
+        return BY_NAME.containsKey(name);
+    }
 }
@@ -0,0 +1,33 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static guru.springframework.sfgrestbrewery.web.model.BeerField.*;
+
+/**
+ * Named sets of {@link BeerField}s for the list endpoints ({@code ?view=}), so a catalogue page does not pay for
+ * timestamps and inventory it never shows.
+ */
+public enum BeerView {
+
+    //what a catalogue listing shows
+    SUMMARY(EnumSet.of(ID, BEER_NAME, BEER_STYLE, UPC, PRICE)),
+
+    //everything but inventory, the default
+    DETAIL(EnumSet.complementOf(EnumSet.of(QUANTITY_ON_HAND))),
+
+    //stock levels
+    INVENTORY(EnumSet.of(ID, BEER_NAME, UPC, QUANTITY_ON_HAND));
+
+    private final Set<BeerField> fields;
+
+    BeerView(Set<BeerField> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+    }
+
+    public Set<BeerField> getFields() {
+        return fields;
+    }
+}
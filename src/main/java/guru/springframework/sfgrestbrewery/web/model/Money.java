@@ -0,0 +1,108 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Fixed-point amount: a count of minor units (cents) in a currency. Replaces {@link BigDecimal} prices on the read
+ * path, where a row, its DTO and its cache entry each used to carry their own decimal. The JSON form is still a plain
+ * number with the currency's fraction digits.
+ * <p>
+ * The catalogue has a single currency, {@link #CATALOGUE_CURRENCY}. The database and the cache store minor units only
+ * and refuse other currencies.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@JsonDeserialize(using = MoneyDeserializer.class)
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public static final Currency CATALOGUE_CURRENCY = Currency.getInstance("USD");
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, CATALOGUE_CURRENCY);
+    }
+
+    /**
+     * The amount in the catalogue currency, null for null. Never rounds: a client price is stored exactly or not at all.
+     *
+     * @throws IllegalArgumentException when the amount has more fraction digits than the currency, such as 12.345
+     */
+    public static Money of(BigDecimal amount) {
+        if (amount == null) {
+            return null;
+        }
+        int digits = CATALOGUE_CURRENCY.getDefaultFractionDigits();
+        try {
+            return ofMinor(amount.setScale(digits, RoundingMode.UNNECESSARY)
+                                 .unscaledValue()
+                                 .longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " has more than " + digits +
+                    " fraction digits or is out of range", e);
+        }
+    }
+
+    /**
+     * Minor units in the catalogue currency, for storage.
+     *
+     * @throws IllegalArgumentException for an amount in another currency
+     */
+    public long catalogueMinorUnits() {
+        if (!CATALOGUE_CURRENCY.equals(currency)) {
+            throw new IllegalArgumentException("Only " + CATALOGUE_CURRENCY + " amounts are stored, got " + currency);
+        }
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * Decimal text such as {@code 12.95} or {@code -0.05}, without going through {@link BigDecimal}.
+     */
+    public String toPlainString() {
+        int digits = currency.getDefaultFractionDigits();
+        if (digits <= 0) {
+            return Long.toString(minorUnits);
+        }
+
+        String units = Long.toString(Math.abs(minorUnits));
+        StringBuilder text = new StringBuilder(units.length() + digits + 2);
+        if (minorUnits < 0) {
+            text.append('-');
+        }
+        if (units.length() <= digits) {
+            text.append("0.");
+            text.repeat('0', digits - units.length());
+            text.append(units);
+        } else {
+            text.append(units, 0, units.length() - digits)
+                .append('.')
+                .append(units, units.length() - digits, units.length());
+        }
+        return text.toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot compare " + currency + " with " + other.currency);
+        }
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a {@link Money} from a number, or from a numeric string, in the catalogue currency. Amounts with more
+ * fraction digits than the currency has are rejected rather than rounded.
+ */
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        //a bad amount is an InvalidFormatException, which the web layers report as a 400
+        if (p.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return Money.of(new BigDecimal(p.getText().trim()));
+            } catch (IllegalArgumentException e) {
+                return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+            }
+        }
+        if (p.currentToken().isNumeric()) {
+            BigDecimal amount = p.getDecimalValue();
+            try {
+                return Money.of(amount);
+            } catch (IllegalArgumentException e) {
+                return (Money) ctxt.handleWeirdNumberValue(Money.class, amount, e.getMessage());
+            }
+        }
+        return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+    }
+}
@@ -0,0 +1,31 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as the plain number it was as a {@code BigDecimal}. Text formats get the digits directly;
+ * binary formats (CBOR, Smile) would store number text as a string, so they still get a decimal.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money money, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(money, gen);
+    }
+
+    static void write(Money money, JsonGenerator gen) throws IOException {
+        if (gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(money.toPlainString());
+        } else {
+            gen.writeNumber(money.toBigDecimal());
+        }
+    }
+}
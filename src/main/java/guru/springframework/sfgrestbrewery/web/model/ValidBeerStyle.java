@@ -0,0 +1,36 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The name of a {@link BeerStyleEnum}. Null is valid, combine with {@code @NotBlank} to require one.
+ */
+@Documented
+@Constraint(validatedBy = ValidBeerStyle.Validator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidBeerStyle {
+
+    String message() default "must be one of the beer styles";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validator implements ConstraintValidator<ValidBeerStyle, String> {
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            return value == null || BeerStyleEnum.isValid(value);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package guru.springframework.sfgrestbrewery.web.rsocket;
+
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerListRequest;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.function.Function;
+
+import static guru.springframework.sfgrestbrewery.web.rsocket.RSocketTenancy.TENANT_HEADER;
+
+/**
+ * RSocket routes for internal services, served on {@code spring.rsocket.server.port} next to the HTTP API. Payloads
+ * are CBOR unless the requester sets another data mime type in its SETUP frame.
+ * <ul>
+ *     <li>request-response: {@code beer.by-id}, {@code beer.by-upc}; a miss completes without a payload</li>
+ *     <li>request-stream: {@code beer.list}, {@code beer.changes}</li>
+ *     <li>request-channel: {@code beer.upsert}</li>
+ * </ul>
+ * Every route runs for the tenant named in the request metadata, see {@link RSocketTenancy}.
+ */
+@Controller
+@RequiredArgsConstructor
+@MessageMapping("beer")
+public class BeerRSocketController {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private final BeerService beerService;
+    private final Validator validator;
+    private final RSocketTenancy tenancy;
+
+    @MessageMapping("by-id")
+    public Mono<BeerDto> getBeerById(Integer beerId, @Header(name = TENANT_HEADER, required = false) String tenant) {
+        return tenancy.mono(tenant, () -> beerService.getById(beerId, false));
+    }
+
+    @MessageMapping("by-upc")
+    public Mono<BeerDto> getBeerByUpc(String upc, @Header(name = TENANT_HEADER, required = false) String tenant) {
+        return tenancy.mono(tenant, () -> beerService.getByUpc(upc));
+    }
+
+    /**
+     * Streams every matching beer, reading the next keyset page only once the requester has asked for the rows of
+     * the previous one.
+     */
+    @MessageMapping("list")
+    public Flux<BeerDto> listBeers(BeerListRequest request, @Header(name = TENANT_HEADER, required = false) String tenant) {
+        String beerName = request.getBeerName();
+        BeerStyleEnum beerStyle = request.getBeerStyle() != null ? BeerStyleEnum.fromName(request.getBeerStyle()) : null;
+        BeerView view = request.getFields() != null ?
+                null :
+                (request.getView() != null ? request.getView() : BeerView.DETAIL);
+        Set<BeerField> fields = view != null ? view.getFields() : BeerField.parse(request.getFields());
+        Integer pageSize = request.getPageSize();
+        int limit = pageSize == null || pageSize < 1 ? DEFAULT_PAGE_SIZE : Math.min(pageSize, MAX_PAGE_SIZE);
+        boolean showInventory = request.isShowInventoryOnHand() || view == BeerView.INVENTORY;
+
+        //a stream has no use for the total, so pages are read without counting the rows again each time
+        return tenancy.flux(tenant, () -> beerService.listBeersAfter(beerName, beerStyle, null, limit, showInventory, fields)
+                                                     .expand(beers -> beers.size() < limit ?
+                                                             Mono.empty() :
+                                                             beerService.listBeersAfter(beerName, beerStyle, beers.get(beers.size() - 1).getId(), limit,
+                                                                     showInventory, fields))
+                                                     .concatMapIterable(Function.identity()));
+    }
+
+    @MessageMapping("changes")
+    public Flux<BeerChangeDto> listBeerChanges(LocalDateTime since, @Header(name = TENANT_HEADER, required = false) String tenant) {
+        return tenancy.flux(tenant, () -> beerService.listBeerChanges(since));
+    }
+
+    /**
+     * Creates or updates each incoming beer, matched to an existing one by UPC, and answers with the stored beer in
+     * the order received. An invalid beer ends the channel with an error; the ones before it are kept.
+     */
+    @MessageMapping("upsert")
+    public Flux<BeerDto> upsertBeers(Flux<BeerDto> beers, @Header(name = TENANT_HEADER, required = false) String tenant) {
+        return beers.doOnNext(this::validate)
+                    .concatMap(beerDto -> tenancy.mono(tenant, () -> upsert(beerDto)));
+    }
+
+    private Mono<BeerDto> upsert(BeerDto beerDto) {
+        //looked up right away rather than in an operator, so the UPC cache key sees the tenant
+        Mono<BeerDto> existing = beerDto.getUpc() != null ? beerService.getByUpc(beerDto.getUpc()) : Mono.empty();
+
+        //a cached UPC hit for a beer deleted since then updates nothing, and falls through to a save
+        return existing.flatMap(found -> beerService.updateBeer(found.getId(), beerDto))
+                       .switchIfEmpty(Mono.defer(() -> beerService.saveNewBeer(beerDto)));
+    }
+
+    private void validate(BeerDto beerDto) {
+        Errors errors = new BeanPropertyBindingResult(beerDto, "beerDto");
+        validator.validate(beerDto, errors);
+
+        if (errors.hasErrors()) {
+            throw new IllegalArgumentException(errors.toString());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package guru.springframework.sfgrestbrewery.web.rsocket;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * The RSocket counterpart of {@code TenantWebFilter}: resolves the tenant of a request from its
+ * {@link #TENANT_MIME_TYPE} metadata entry, a plain tenant name. Requests without one are for the default tenant, and
+ * an unknown tenant fails the request. With tenancy off the metadata is ignored.
+ * <p>
+ * RSocket has no filter chain that would wrap a route, so each route runs its work through {@link #mono} or
+ * {@link #flux}, which set the tenant both while the publisher is assembled, for {@code @Cacheable} keys, and in its
+ * Context, which routes connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RSocketTenancy {
+    public static final MimeType TENANT_MIME_TYPE = MimeType.valueOf("message/x.sfg.tenant");
+
+    /**
+     * The message header the metadata entry is extracted into.
+     */
+    public static final String TENANT_HEADER = "tenant";
+
+    private final TenancyProperties properties;
+
+    public <T> Mono<T> mono(String requestedTenant, Supplier<Mono<T>> work) {
+        return Mono.defer(() -> {
+            String tenant = resolve(requestedTenant);
+            return TenantContext.assembleFor(tenant, work)
+                                .contextWrite(TenantContext.with(tenant));
+        });
+    }
+
+    public <T> Flux<T> flux(String requestedTenant, Supplier<Flux<T>> work) {
+        return Flux.defer(() -> {
+            String tenant = resolve(requestedTenant);
+            return TenantContext.assembleFor(tenant, work)
+                                .contextWrite(TenantContext.with(tenant));
+        });
+    }
+
+    private String resolve(String requestedTenant) {
+        if (!properties.isEnabled() || requestedTenant == null) {
+            return TenantContext.DEFAULT_TENANT;
+        }
+        if (!TenantContext.isDefault(requestedTenant) && !properties.getTenants().containsKey(requestedTenant)) {
+            log.debug("Refusing RSocket request for unknown tenant {}", requestedTenant);
+            throw new IllegalArgumentException("Unknown tenant " + requestedTenant);
+        }
+        return requestedTenant;
+    }
+}
@@ -2,11 +2,55 @@ CREATE TABLE if NOT EXISTS beer
 (
     id             integer NOT NULL PRIMARY KEY AUTO_INCREMENT,
     beer_name      varchar(255),
-    beer_style     varchar (255),
+    beer_style     smallint,
     upc            varchar (25),
-    version        integer,
+    version        integer NOT NULL DEFAULT 0,
     quantity_on_hand integer,
-    price          decimal,
+    price_minor    bigint,
+    created_date   timestamp,
+    last_modified_date timestamp
+);
+
+CREATE INDEX if NOT EXISTS beer_last_modified_date_idx ON beer (last_modified_date);
+CREATE INDEX if NOT EXISTS beer_style_idx ON beer (beer_style);
+
+CREATE TABLE if NOT EXISTS beer_tombstone
+(
+    id             integer NOT NULL PRIMARY KEY AUTO_INCREMENT,
+    beer_id        integer,
+    upc            varchar (25),
+    deleted_date   timestamp
+);
+
+CREATE INDEX if NOT EXISTS beer_tombstone_deleted_date_idx ON beer_tombstone (deleted_date);
+
+CREATE TABLE if NOT EXISTS customer
+(
+    id             binary(16) NOT NULL PRIMARY KEY,
+    version        integer,
+    name           varchar(100),
     created_date   timestamp,
     last_modified_date timestamp
-);
\ No newline at end of file
+);
+
+CREATE TABLE if NOT EXISTS beer_order
+(
+    id             binary(16) NOT NULL PRIMARY KEY,
+    version        integer,
+    customer_id    binary(16) NOT NULL,
+    order_status   varchar(30),
+    created_date   timestamp,
+    last_modified_date timestamp
+);
+
+CREATE INDEX if NOT EXISTS beer_order_customer_id_idx ON beer_order (customer_id, id);
+
+CREATE TABLE if NOT EXISTS beer_order_line
+(
+    id             integer NOT NULL PRIMARY KEY AUTO_INCREMENT,
+    beer_order_id  binary(16) NOT NULL,
+    beer_id        integer NOT NULL,
+    order_quantity integer NOT NULL
+);
+
+CREATE INDEX if NOT EXISTS beer_order_line_beer_order_id_idx ON beer_order_line (beer_order_id);
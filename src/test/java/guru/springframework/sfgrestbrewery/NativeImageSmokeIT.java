@@ -0,0 +1,154 @@
+package guru.springframework.sfgrestbrewery;
+
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the v1 and v2 routes against the native executable, to catch anything the runtime hints miss. Build the
+ * binary first with a GraalVM JDK:
+ * <pre>mvn -Pnative native:compile && mvn test -Dtest=NativeImageSmokeIT</pre>
+ */
+@Slf4j
+class NativeImageSmokeIT {
+    private static final Path BINARY = Path.of("target/sfg-reactive-brewery");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+    static Process process;
+    static WebClient webClient;
+
+    @BeforeAll
+    static void startNativeImage() throws Exception {
+        assumeTrue(Files.isExecutable(BINARY), "build the native image first");
+
+        int port = freePort();
+        long start = System.nanoTime();
+        process = new ProcessBuilder(BINARY.toAbsolutePath().toString(), "--server.port=" + port)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        webClient = WebClient.create("http://localhost:" + port);
+
+        webClient.get()
+                 .uri("/actuator/health/readiness")
+                 .retrieve()
+                 .toBodilessEntity()
+                 .retryWhen(Retry.fixedDelay(Long.MAX_VALUE, Duration.ofMillis(10)))
+                 .block(STARTUP_TIMEOUT);
+
+        log.info("Native image ready in {} ms, RSS {}", Duration.ofNanos(System.nanoTime() - start).toMillis(), residentSetSize());
+    }
+
+    @AfterAll
+    static void stopNativeImage() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    @Test
+    void v1ListBeers() {
+        StepVerifier.create(webClient.get()
+                                     .uri("/api/v1/beer")
+                                     .accept(MediaType.APPLICATION_JSON)
+                                     .retrieve()
+                                     .bodyToMono(BeerPagedList.class))
+                    .assertNext(page -> assertFalse(page.getContent().isEmpty()))
+                    .verifyComplete();
+    }
+
+    @Test
+    void v1GetBeerByUpc() {
+        StepVerifier.create(webClient.get()
+                                     .uri("/api/v1/beerUpc/" + BeerLoader.BEER_1_UPC)
+                                     .retrieve()
+                                     .bodyToMono(BeerDto.class))
+                    .assertNext(beerDto -> assertEquals(BeerLoader.BEER_1_UPC, beerDto.getUpc()))
+                    .verifyComplete();
+    }
+
+    @Test
+    void v2ListBeers() {
+        StepVerifier.create(webClient.get()
+                                     .uri("/api/v2/beer")
+                                     .accept(MediaType.APPLICATION_JSON)
+                                     .retrieve()
+                                     .bodyToMono(BeerPage.class))
+                    .assertNext(page -> assertFalse(page.getContent().isEmpty()))
+                    .verifyComplete();
+    }
+
+    @Test
+    void v2GetBeerById() {
+        StepVerifier.create(webClient.get()
+                                     .uri("/api/v2/beer/1")
+                                     .accept(MediaType.APPLICATION_JSON)
+                                     .retrieve()
+                                     .bodyToMono(BeerDto.class))
+                    .assertNext(beerDto -> assertEquals(Integer.valueOf(1), beerDto.getId()))
+                    .verifyComplete();
+    }
+
+    @Test
+    void v2CreateBeer() {
+        BeerDto beerDto = BeerDto.builder()
+                                 .beerName("Native Brew")
+                                 .beerStyle(BeerStyleEnum.IPA.name())
+                                 .upc("1234567890123")
+                                 .build();
+
+        StepVerifier.create(webClient.post()
+                                     .uri("/api/v2/beer")
+                                     .accept(MediaType.APPLICATION_JSON)
+                                     .body(BodyInserters.fromValue(beerDto))
+                                     .retrieve()
+                                     .toBodilessEntity())
+                    .assertNext(response -> {
+                        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                        assertNotNull(response.getHeaders().getLocation());
+                    })
+                    .verifyComplete();
+    }
+
+    private static String residentSetSize() throws IOException {
+        Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+        if (!Files.exists(status)) {
+            return "n/a";
+        }
+        List<String> lines = Files.readAllLines(status);
+        return lines.stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.substring("VmRSS:".length()).trim())
+                    .findFirst()
+                    .orElse("n/a");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import guru.springframework.sfgrestbrewery.services.BlockingCalls;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of a 10 ms downstream call made three ways: non-blocking, blocking on Reactor's bounded elastic pool,
+ * and blocking on virtual threads. Not part of the regular build (surefire only picks up *Test classes), run with
+ * <pre>mvn test -Dtest=BlockingModeBenchmark</pre>
+ */
+class BlockingModeBenchmark {
+    private static final int CALLS = 5_000;
+    private static final int CONCURRENCY = 500;
+    private static final Duration CALL_LATENCY = Duration.ofMillis(10);
+
+    @Test
+    void compareBlockingModes() {
+        run("reactive (Mono.delay)", () -> Mono.delay(CALL_LATENCY).thenReturn(1));
+
+        Scheduler elastic = Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "bench-elastic");
+        BlockingCalls onElastic = new BlockingCalls(elastic);
+        run("blocking on bounded-elastic", () -> onElastic.mono(BlockingModeBenchmark::legacyCall));
+        elastic.dispose();
+
+        Scheduler virtual = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "bench-vt");
+        BlockingCalls onVirtual = new BlockingCalls(virtual);
+        run("blocking on virtual threads", () -> onVirtual.mono(BlockingModeBenchmark::legacyCall));
+        virtual.dispose();
+    }
+
+    private static void run(String mode, Supplier<Mono<Integer>> call) {
+        //warm up the scheduler and JIT before measuring
+        measure(call, CALLS / 10);
+
+        long nanos = measure(call, CALLS);
+        System.out.printf("%-30s %8.0f calls/s (%d calls, %d concurrent, %d ms each)%n",
+                mode, CALLS / (nanos / 1_000_000_000d), CALLS, CONCURRENCY, CALL_LATENCY.toMillis());
+    }
+
+    private static long measure(Supplier<Mono<Integer>> call, int calls) {
+        long start = System.nanoTime();
+        Integer completed = Flux.range(0, calls)
+                                .flatMap(i -> call.get(), CONCURRENCY)
+                                .reduce(0, Integer::sum)
+                                .block();
+        assertEquals(calls, completed);
+        return System.nanoTime() - start;
+    }
+
+    private static Integer legacyCall() throws InterruptedException {
+        Thread.sleep(CALL_LATENCY.toMillis());
+        return 1;
+    }
+}
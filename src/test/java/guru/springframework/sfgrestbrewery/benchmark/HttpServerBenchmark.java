@@ -0,0 +1,84 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import guru.springframework.sfgrestbrewery.SfgReactiveBreweryApplication;
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * The {@code WebClientIT} read routes under concurrent load: with the previous defaults (HTTP/1.1, Reactor Netty
+ * request logging at trace), with the {@code prod} logging profile, and with that profile over h2c. Prints throughput
+ * and p50/p99 latency per mode. Not part of the regular build, run with
+ * <pre>mvn test -Dtest=HttpServerBenchmark</pre>
+ */
+class HttpServerBenchmark {
+    private static final int CALLS = 10_000;
+    private static final int CONCURRENCY = 32;
+    private static final String[] ROUTES = {"/api/v1/beer/1", "/api/v1/beerUpc/" + BeerLoader.BEER_2_UPC, "/api/v1/beer?pageSize=10"};
+
+    @Test
+    void compareServerSettings() {
+        run("defaults, HTTP/1.1", HttpProtocol.HTTP11, "server.http2.enabled=false", "logging.level.reactor.netty.http=trace");
+        run("prod, HTTP/1.1", HttpProtocol.HTTP11, "spring.profiles.active=prod");
+        run("prod, h2c", HttpProtocol.H2C, "spring.profiles.active=prod");
+    }
+
+    private static void run(String mode, HttpProtocol protocol, String... properties) {
+        //as arguments, default properties would lose to application.properties
+        String[] args = Stream.concat(Stream.of("server.port=0", "sfg.brewery.admission.enabled=false"), Stream.of(properties))
+                              .map(property -> "--" + property)
+                              .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SfgReactiveBreweryApplication.class).run(args)) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            ConnectionProvider connections = ConnectionProvider.create("benchmark", CONCURRENCY);
+            HttpClient client = HttpClient.create(connections)
+                                          .protocol(protocol)
+                                          .baseUrl("http://localhost:" + port);
+            try {
+                //warm up the JIT and the caches before measuring
+                time(client, CALLS / 5);
+
+                long start = System.nanoTime();
+                long[] latencies = time(client, CALLS);
+                long nanos = System.nanoTime() - start;
+
+                Arrays.sort(latencies);
+                System.out.printf("%-20s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms (%d requests, %d concurrent)%n",
+                        mode, CALLS / (nanos / 1_000_000_000d),
+                        latencies[CALLS / 2] / 1_000_000d, latencies[CALLS * 99 / 100] / 1_000_000d, CALLS, CONCURRENCY);
+            } finally {
+                connections.dispose();
+            }
+        }
+    }
+
+    private static long[] time(HttpClient client, int calls) {
+        long[] latencies = new long[calls];
+        Flux.range(0, calls)
+            .flatMap(i -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                return client.get()
+                             .uri(ROUTES[i % ROUTES.length])
+                             .responseSingle((response, body) -> {
+                                 if (response.status().code() != 200) {
+                                     return Mono.error(new IllegalStateException(response.status() + " from " + ROUTES[i % ROUTES.length]));
+                                 }
+                                 return body.then();
+                             })
+                             .doOnTerminate(() -> latencies[i] = System.nanoTime() - start);
+            }), CONCURRENCY)
+            .blockLast();
+        return latencies;
+    }
+}
@@ -0,0 +1,71 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import guru.springframework.sfgrestbrewery.SfgReactiveBreweryApplication;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+/**
+ * Bytes allocated per row for a v2 page read, mapped and written as JSON, with all fields and with
+ * {@code ?fields=id,beerName,price}. Counts the calling thread only, which is where r2dbc-h2 does its work. Not part of
+ * the regular build, run with
+ * <pre>mvn test -Dtest=ProjectionBenchmark</pre>
+ */
+class ProjectionBenchmark {
+    private static final int PAGE_SIZE = 25;
+    private static final int ITERATIONS = 2_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareProjections() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SfgReactiveBreweryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.guru.springframework.sfgrestbrewery=info",
+                        "logging.level.org.springframework.data.r2dbc=info",
+                        "logging.level.org.springframework.r2dbc=info",
+                        "logging.level.io.r2dbc=info")
+                .run()) {
+            BeerService beerService = context.getBean(BeerService.class);
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+            measure("all fields", beerService, objectMapper, BeerField.ALL);
+            measure("id,beerName,price", beerService, objectMapper, BeerField.parse("beerName,price"));
+        }
+    }
+
+    private static void measure(String label, BeerService beerService, ObjectMapper objectMapper, Set<BeerField> fields) throws Exception {
+        //warm up the JIT before measuring
+        run(beerService, objectMapper, fields, ITERATIONS / 4);
+
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long bytesWritten = run(beerService, objectMapper, fields, ITERATIONS);
+        long nanos = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        long rows = (long) ITERATIONS * PAGE_SIZE;
+        System.out.printf("%-20s %7d bytes allocated/row  %5d bytes JSON/row  %6.1f us/page%n",
+                label, allocated / rows, bytesWritten / rows, nanos / 1_000d / ITERATIONS);
+    }
+
+    private static long run(BeerService beerService, ObjectMapper objectMapper, Set<BeerField> fields, int iterations) throws Exception {
+        long bytesWritten = 0;
+        for (int i = 0; i < iterations; i++) {
+            BeerPage page = beerService.listBeerPage(null, null, PageRequest.of(0, PAGE_SIZE), null, false, fields)
+                                       .block();
+            bytesWritten += objectMapper.writeValueAsBytes(page).length;
+        }
+        return bytesWritten;
+    }
+}
@@ -0,0 +1,103 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from launching the JVM to the first successful beer request, for the default build and each step of the
+ * fast-start setup. Needs the packaged application, not part of the regular build, run with
+ * <pre>mvn -Pfast-start package -DskipTests && mvn test -Dtest=StartupBenchmark</pre>
+ */
+class StartupBenchmark {
+    private static final int RUNS = 3;
+    private static final Duration TIMEOUT = Duration.ofSeconds(90);
+    private static final Path JAR = Path.of("target/sfg-reactive-brewery-1.0.0.jar");
+    private static final Path FAST_START_DIR = Path.of("target/fast-start");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+                                                    .connectTimeout(Duration.ofMillis(200))
+                                                    .build();
+
+    @Test
+    void compareStartupModes() throws Exception {
+        assumeTrue(Files.exists(JAR), "package the application first");
+
+        run("default", Path.of("."), JAR.toString());
+        run("fast-start profile", Path.of("."), "-Dspring.profiles.active=fast-start", JAR.toString());
+
+        assumeTrue(Files.exists(FAST_START_DIR.resolve("application.jsa")), "build with -Pfast-start for AOT and CDS");
+        String extractedJar = JAR.getFileName().toString();
+        run("fast-start + AOT", FAST_START_DIR, "-Dspring.profiles.active=fast-start", "-Dspring.aot.enabled=true", extractedJar);
+        run("fast-start + AOT + CDS", FAST_START_DIR, "-XX:SharedArchiveFile=application.jsa",
+                "-Dspring.profiles.active=fast-start", "-Dspring.aot.enabled=true", extractedJar);
+    }
+
+    private void run(String mode, Path workingDirectory, String... jvmArgsAndJar) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = timeToFirstRequest(workingDirectory, jvmArgsAndJar);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-25s median %6d ms, best %6d ms (%d runs)%n", mode, millis[RUNS / 2], millis[0], RUNS);
+    }
+
+    private long timeToFirstRequest(Path workingDirectory, String... jvmArgsAndJar) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Dserver.port=" + port);
+        command.add("-Dsfg.brewery.admission.enabled=false");
+        command.addAll(List.of(Arrays.copyOf(jvmArgsAndJar, jvmArgsAndJar.length - 1)));
+        command.add("-jar");
+        command.add(jvmArgsAndJar[jvmArgsAndJar.length - 1]);
+
+        HttpRequest firstRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/beer/1"))
+                                              .timeout(Duration.ofSeconds(2))
+                                              .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).directory(workingDirectory.toFile())
+                                                     .redirectErrorStream(true)
+                                                     .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                                                     .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ": " + command);
+                }
+                try {
+                    if (httpClient.send(firstRequest, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (IOException notListeningYet) {
+                    //retry below
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException("No successful request within " + TIMEOUT + ": " + command);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package guru.springframework.sfgrestbrewery.benchmark;
+
+import guru.springframework.sfgrestbrewery.SfgReactiveBreweryApplication;
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * The same {@link BeerStore} workload against both backends: R2DBC (default) and JDBC on virtual threads
+ * ({@code jdbc} profile). Prints throughput and p50/p99 latency per operation. Not part of the regular build, run with
+ * <pre>mvn test -Dtest=StorageBackendBenchmark</pre>
+ */
+class StorageBackendBenchmark {
+    private static final int CALLS = 20_000;
+    private static final int CONCURRENCY = 64;
+
+    @Test
+    void compareBackends() {
+        run("r2dbc");
+        run("jdbc");
+    }
+
+    private static void run(String backend) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SfgReactiveBreweryApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.guru.springframework.sfgrestbrewery=info",
+                        "logging.level.org.springframework.data.r2dbc=info",
+                        "logging.level.org.springframework.r2dbc=info",
+                        "logging.level.io.r2dbc=info");
+        if (backend.equals("jdbc")) {
+            builder.profiles("jdbc");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            BeerStore store = context.getBean(BeerStore.class);
+
+            int beers = store.count(null, null).block().intValue();
+            Integer firstId = store.findAllAfter(null, null, 0, 1, BeerField.ALL).blockFirst().getId();
+
+            measure(backend, "findById", i -> store.findById(firstId + i % beers));
+            measure(backend, "findAll page of 25", i -> store.findAll(null, null, PageRequest.of(i % 2, 25, Sort.by("id")), BeerField.ALL)
+                                                            .then(Mono.just(i)));
+            measure(backend, "insert", i -> store.save(Beer.builder()
+                                                           .beerName("Bench " + i)
+                                                           .beerStyle(BeerStyleEnum.LAGER)
+                                                           .upc(String.valueOf(i))
+                                                           .quantityOnHand(1)
+                                                           .price(BigDecimal.TEN)
+                                                           .build()));
+        }
+    }
+
+    private static void measure(String backend, String operation, IntFunction<Mono<?>> call) {
+        //warm up pools and JIT before measuring
+        time(call, CALLS / 10);
+
+        long start = System.nanoTime();
+        long[] latencies = time(call, CALLS);
+        long nanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-6s %-20s %8.0f ops/s  p50 %6.2f ms  p99 %6.2f ms (%d ops, %d concurrent)%n",
+                backend, operation, CALLS / (nanos / 1_000_000_000d),
+                latencies[CALLS / 2] / 1_000_000d, latencies[CALLS * 99 / 100] / 1_000_000d, CALLS, CONCURRENCY);
+    }
+
+    private static long[] time(IntFunction<Mono<?>> call, int calls) {
+        long[] latencies = new long[calls];
+        Flux.range(0, calls)
+            .flatMap(i -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call.apply(i)
+                           .doOnTerminate(() -> latencies[i] = System.nanoTime() - start);
+            }), CONCURRENCY)
+            .blockLast();
+        return latencies;
+    }
+}
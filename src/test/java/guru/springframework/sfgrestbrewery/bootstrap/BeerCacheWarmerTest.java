@@ -0,0 +1,66 @@
+package guru.springframework.sfgrestbrewery.bootstrap;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_UPC_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BeerCacheWarmerTest {
+
+    @TempDir
+    static Path snapshotDir;
+
+    @DynamicPropertySource
+    static void snapshotFile(DynamicPropertyRegistry registry) {
+        registry.add("sfg.brewery.warmup.snapshot-file", () -> snapshotDir.resolve("beer-cache.snapshot").toString());
+    }
+
+    @Autowired
+    BeerCacheWarmer warmer;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    WarmupProperties properties;
+
+    @Test
+    void testWarmsFromCatalogThenFromSnapshot() throws InterruptedException {
+        Health warm = awaitWarm();
+        assertThat(warm.getDetails()).containsEntry("source", "catalog");
+        assertThat(cacheManager.getCache(BEER_CACHE).get(1, BeerDto.class)).isNotNull();
+        assertThat(cacheManager.getCache(BEER_UPC_CACHE).get(BeerLoader.BEER_1_UPC, BeerDto.class)).isNotNull();
+
+        warmer.saveSnapshot();
+        assertThat(Files.exists(properties.getSnapshotFile())).isTrue();
+
+        cacheManager.getCache(BEER_CACHE).clear();
+        warmer.warmUp();
+
+        assertThat(awaitWarm().getDetails()).containsEntry("source", "snapshot")
+                                            .containsEntry("beers", warm.getDetails().get("beers"));
+        assertThat(cacheManager.getCache(BEER_CACHE).get(1, BeerDto.class).getUpc()).isEqualTo(BeerLoader.BEER_1_UPC);
+    }
+
+    private Health awaitWarm() throws InterruptedException {
+        for (int i = 0; i < 100 && !Status.UP.equals(warmer.health().getStatus()); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(warmer.health().getStatus()).isEqualTo(Status.UP);
+        return warmer.health();
+    }
+}
@@ -0,0 +1,40 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeConfigTest {
+    RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeConfig.BreweryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void wireTypesAreBindable() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BeerDto.class, "setBeerName").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                                         .onConstructor(BeerPagedList.class.getConstructor(List.class, int.class, int.class, Long.class))
+                                         .test(hints));
+    }
+
+    @Test
+    void generatedMappersAndDriversAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("guru.springframework.sfgrestbrewery.web.mappers.BeerMapperImpl")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.r2dbc.h2.H2ConnectionFactoryProvider")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.r2dbc.spi.ConnectionFactoryProvider").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("schema.sql").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.micrometer.context.ThreadLocalAccessor").test(hints));
+    }
+}
@@ -0,0 +1,115 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaMigrationsTest {
+
+    @Test
+    void testLegacyPriceColumnIsMigrated() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///schema-migrations-price?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE beer (id integer NOT NULL PRIMARY KEY AUTO_INCREMENT, beer_name varchar(255), " +
+                      "beer_style varchar(255), upc varchar(25), version integer, quantity_on_hand integer, price decimal(19, 3), " +
+                      "created_date timestamp, last_modified_date timestamp)")
+              .then()
+              .then(client.sql("INSERT INTO beer (beer_name, price) VALUES ('Mango Bobs', 12.95), ('Galaxy Cat', 12.955), ('No Price', NULL)")
+                          .then())
+              .block();
+
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+        //a second start finds nothing left to migrate
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+
+        List<Map<String, Object>> rows = client.sql("SELECT beer_name, price_minor FROM beer ORDER BY id")
+                                               .fetch()
+                                               .all()
+                                               .collectList()
+                                               .block();
+        assertThat(rows).extracting(row -> row.get("PRICE_MINOR"))
+                        .containsExactly(1295L, 1296L, null);
+        assertThat(columns(client)).doesNotContain("PRICE");
+    }
+
+    @Test
+    void testLegacyStyleNamesBecomeCodes() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///schema-migrations-style?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE beer (id integer NOT NULL PRIMARY KEY AUTO_INCREMENT, beer_name varchar(255), " +
+                      "beer_style varchar(255), upc varchar(25), version integer, quantity_on_hand integer, price_minor bigint, " +
+                      "created_date timestamp, last_modified_date timestamp)")
+              .then()
+              .then(client.sql("INSERT INTO beer (beer_name, beer_style) VALUES ('Mango Bobs', 'ALE'), ('Galaxy Cat', 'PALE_ALE'), " +
+                                  "('Old Style', 'MEAD')")
+                          .then())
+              .block();
+
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+
+        List<Optional<Short>> styles = client.sql("SELECT beer_style FROM beer ORDER BY id")
+                                             .map(row -> Optional.ofNullable(row.get(0, Short.class)))
+                                             .all()
+                                             .collectList()
+                                             .block();
+        assertThat(styles).containsExactly(Optional.of(BeerStyleEnum.ALE.getCode()), Optional.of(BeerStyleEnum.PALE_ALE.getCode()),
+                Optional.empty());
+        assertThat(columns(client)).doesNotContain("BEER_STYLE_CODE");
+    }
+
+    @Test
+    void testMissingVersionsStartAtZero() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///schema-migrations-version?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient client = DatabaseClient.create(connectionFactory);
+        client.sql("CREATE TABLE beer (id integer NOT NULL PRIMARY KEY AUTO_INCREMENT, beer_name varchar(255), " +
+                      "beer_style smallint, upc varchar(25), version integer, quantity_on_hand integer, price_minor bigint, " +
+                      "created_date timestamp, last_modified_date timestamp)")
+              .then()
+              .then(client.sql("INSERT INTO beer (beer_name, version) VALUES ('Mango Bobs', NULL), ('Galaxy Cat', 3)")
+                          .then())
+              .block();
+
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+
+        List<Integer> versions = client.sql("SELECT version FROM beer ORDER BY id")
+                                       .map(row -> row.get(0, Integer.class))
+                                       .all()
+                                       .collectList()
+                                       .block();
+        assertThat(versions).containsExactly(0, 3);
+
+        //an insert that leaves the version out now gets 0 as well
+        client.sql("INSERT INTO beer (beer_name) VALUES ('No Version')").then().block();
+        assertThat(client.sql("SELECT version FROM beer WHERE beer_name = 'No Version'")
+                         .map(row -> row.get(0, Integer.class))
+                         .one()
+                         .block()).isZero();
+    }
+
+    @Test
+    void testNewDatabaseIsCreatedUnchanged() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///schema-migrations-new?options=DB_CLOSE_DELAY=-1");
+
+        SchemaMigrations.schemaPopulator().populate(connectionFactory).block();
+
+        assertThat(columns(DatabaseClient.create(connectionFactory))).contains("PRICE_MINOR").doesNotContain("PRICE");
+    }
+
+    private List<Object> columns(DatabaseClient client) {
+        return client.sql("SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = 'BEER'")
+                     .map(row -> row.get(0))
+                     .all()
+                     .collectList()
+                     .block();
+    }
+}
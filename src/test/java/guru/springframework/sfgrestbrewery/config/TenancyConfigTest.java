@@ -0,0 +1,175 @@
+package guru.springframework.sfgrestbrewery.config;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
+import guru.springframework.sfgrestbrewery.web.rsocket.RSocketTenancy;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The default tenant on the seeded database, and a second tenant on an empty database of its own. Beer ids overlap
+ * between the two, so a cache or route that ignored the tenant would answer with the other tenant's beer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"sfg.brewery.tenancy.tenants.acme.url=r2dbc:h2:mem:///acme-tenancy-test?options=DB_CLOSE_DELAY=-1",
+                "sfg.brewery.tenancy.tenants.acme.max-pool-size=2",
+                "sfg.brewery.admission.enabled=false"})
+@AutoConfigureWebTestClient
+class TenancyConfigTest {
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    RSocketRequester.Builder requesterBuilder;
+
+    @LocalRSocketServerPort
+    int rsocketPort;
+
+    @Test
+    void testTenantsHaveSeparateCatalogsAndCaches() {
+        //acme's catalog starts empty, so its first beers reuse ids of the seeded default catalog
+        Integer beerId = createBeer("acme", "Acme Lager", "0000000000201");
+        String defaultBeerName = getBeer("default", beerId).getBeerName();
+        assertThat(defaultBeerName).isNotEqualTo("Acme Lager");
+
+        assertThat(getBeer("acme", beerId).getBeerName()).isEqualTo("Acme Lager");
+        assertThat(getBeer("default", beerId).getBeerName()).isEqualTo(defaultBeerName);
+
+        BeerPage acmeBeers = webTestClient.get()
+                                          .uri("/tenants/acme/api/v2/beer")
+                                          .accept(MediaType.APPLICATION_JSON)
+                                          .exchange()
+                                          .expectStatus().isOk()
+                                          .expectBody(BeerPage.class)
+                                          .returnResult()
+                                          .getResponseBody();
+        assertThat(acmeBeers.getContent()).extracting(BeerDto::getUpc)
+                                          .contains("0000000000201")
+                                          .allMatch(upc -> upc.startsWith("00000000002"));
+    }
+
+    @Test
+    void testUpdateEvictsOnlyItsTenant() {
+        Integer beerId = createBeer("acme", "Acme Porter", "0000000000202");
+        assertThat(getBeer("acme", beerId).getBeerName()).isEqualTo("Acme Porter");
+
+        webTestClient.put()
+                     .uri("/api/v2/beer/" + beerId)
+                     .header(TENANT_HEADER, "acme")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(newBeer("Acme Porter Reserve", "0000000000202"))
+                     .exchange()
+                     .expectStatus().isNoContent();
+
+        assertThat(getBeer("acme", beerId).getBeerName()).isEqualTo("Acme Porter Reserve");
+        assertThat(getBeerByUpc("acme", "0000000000202").getBeerName()).isEqualTo("Acme Porter Reserve");
+    }
+
+    @Test
+    void testRSocketRoutesRunForTheRequestedTenant() {
+        Integer beerId = createBeer("acme", "Acme Bock", "0000000000203");
+        RSocketRequester requester = requesterBuilder.tcp("localhost", rsocketPort);
+        try {
+            assertThat(requester.route("beer.by-id")
+                                .metadata("acme", RSocketTenancy.TENANT_MIME_TYPE)
+                                .data(beerId)
+                                .retrieveMono(BeerDto.class)
+                                .block()
+                                .getBeerName()).isEqualTo("Acme Bock");
+            assertThat(requester.route("beer.by-id")
+                                .data(beerId)
+                                .retrieveMono(BeerDto.class)
+                                .block()
+                                .getBeerName()).isNotEqualTo("Acme Bock");
+
+            //an upsert writes to the tenant's catalog and evicts the tenant's cached UPC
+            BeerDto renamed = requester.route("beer.upsert")
+                                       .metadata("acme", RSocketTenancy.TENANT_MIME_TYPE)
+                                       .data(Flux.just(newBeer("Acme Doppelbock", "0000000000203")))
+                                       .retrieveFlux(BeerDto.class)
+                                       .blockLast();
+            assertThat(renamed.getId()).isEqualTo(beerId);
+            assertThat(getBeerByUpc("acme", "0000000000203").getBeerName()).isEqualTo("Acme Doppelbock");
+
+            StepVerifier.create(requester.route("beer.by-id")
+                                         .metadata("nobody", RSocketTenancy.TENANT_MIME_TYPE)
+                                         .data(beerId)
+                                         .retrieveMono(BeerDto.class))
+                        .expectError(ApplicationErrorException.class)
+                        .verify();
+        } finally {
+            requester.dispose();
+        }
+    }
+
+    @Test
+    void testUnknownTenantIsRefused() {
+        webTestClient.get()
+                     .uri("/api/v1/beer/1")
+                     .header(TENANT_HEADER, "nobody")
+                     .exchange()
+                     .expectStatus().isNotFound();
+    }
+
+    private BeerDto getBeer(String tenant, Integer beerId) {
+        return webTestClient.get()
+                            .uri("/api/v1/beer/" + beerId)
+                            .header(TENANT_HEADER, tenant)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody(BeerDto.class)
+                            .returnResult()
+                            .getResponseBody();
+    }
+
+    private BeerDto getBeerByUpc(String tenant, String upc) {
+        return webTestClient.get()
+                            .uri("/tenants/" + tenant + "/api/v2/beerUpc/" + upc)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBody(BeerDto.class)
+                            .returnResult()
+                            .getResponseBody();
+    }
+
+    private Integer createBeer(String tenant, String name, String upc) {
+        URI location = webTestClient.post()
+                                    .uri("/api/v2/beer")
+                                    .header(TENANT_HEADER, tenant)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(newBeer(name, upc))
+                                    .exchange()
+                                    .expectStatus().isCreated()
+                                    .returnResult(Void.class)
+                                    .getResponseHeaders()
+                                    .getLocation();
+        String path = location.getPath();
+        return Integer.valueOf(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private static BeerDto newBeer(String name, String upc) {
+        return BeerDto.builder()
+                      .beerName(name)
+                      .beerStyle("LAGER")
+                      .upc(upc)
+                      .price(new BigDecimal("7.50"))
+                      .build();
+    }
+}
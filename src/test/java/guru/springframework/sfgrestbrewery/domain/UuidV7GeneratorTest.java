@@ -0,0 +1,31 @@
+package guru.springframework.sfgrestbrewery.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testVersionAndVariant() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void testIdsAreTimeOrdered() {
+        UUID previous = UuidV7Generator.next();
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = UuidV7Generator.next();
+            //compare unsigned, which is how the ids sort as BINARY(16) keys
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0);
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.web.model.BeerField;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("jdbc")
+class JdbcBeerStoreTest {
+
+    @Autowired
+    BeerStore beerStore;
+
+    @Test
+    void testJdbcProfileUsesJdbcStore() {
+        assertThat(beerStore).isInstanceOf(JdbcBeerStore.class);
+    }
+
+    @Test
+    void testSaveNewAndFindById() {
+        Beer saved = beerStore.save(newBeer("1000000000001")).block();
+
+        assertThat(saved.getId()).isNotNull();
+        assertThat(saved.getVersion()).isZero();
+
+        StepVerifier.create(beerStore.findById(saved.getId()))
+                    .assertNext(beer -> {
+                        assertThat(beer.getUpc()).isEqualTo("1000000000001");
+                        assertThat(beer.getBeerStyle()).isEqualTo(BeerStyleEnum.IPA);
+                        assertThat(beer.getCreatedDate()).isNotNull();
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testFindAllByIdAndUpc() {
+        Beer first = beerStore.save(newBeer("1000000000011")).block();
+        Beer second = beerStore.save(newBeer("1000000000012")).block();
+
+        assertThat(beerStore.findAllById(List.of(first.getId(), second.getId(), Integer.MAX_VALUE)).collectList().block())
+                .extracting(Beer::getUpc)
+                .containsExactlyInAnyOrder("1000000000011", "1000000000012");
+        assertThat(beerStore.findAllByUpc(List.of("1000000000012", "missing")).collectList().block())
+                .extracting(Beer::getId)
+                .containsExactly(second.getId());
+        assertThat(beerStore.findAllById(List.of()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void testUpdateBumpsVersion() {
+        Beer saved = beerStore.save(newBeer("1000000000002")).block();
+        saved.setBeerName("Renamed");
+
+        Beer updated = beerStore.save(saved).block();
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThat(beerStore.findByUpc("1000000000002").block().getBeerName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void testStaleUpdateFails() {
+        Beer saved = beerStore.save(newBeer("1000000000003")).block();
+        Beer stale = beerStore.findById(saved.getId()).block();
+        beerStore.save(saved).block();
+
+        StepVerifier.create(beerStore.save(stale))
+                    .expectError(OptimisticLockingFailureException.class)
+                    .verify();
+    }
+
+    @Test
+    void testFindAllAfterIsOrderedById() {
+        Beer first = beerStore.save(newBeer("1000000000004")).block();
+        Beer second = beerStore.save(newBeer("1000000000005")).block();
+
+        StepVerifier.create(beerStore.findAllAfter(null, BeerStyleEnum.IPA, first.getId() - 1, 2, BeerField.ALL).map(Beer::getId))
+                    .expectNext(first.getId(), second.getId())
+                    .verifyComplete();
+    }
+
+    @Test
+    void testFindAllAfterReadsOnlyRequestedFields() {
+        Beer saved = beerStore.save(newBeer("1000000000007")).block();
+
+        StepVerifier.create(beerStore.findAllAfter(null, null, saved.getId() - 1, 1, BeerField.parse("upc")))
+                    .assertNext(beer -> {
+                        assertThat(beer.getId()).isEqualTo(saved.getId());
+                        assertThat(beer.getUpc()).isEqualTo("1000000000007");
+                        assertThat(beer.getBeerName()).isNull();
+                        assertThat(beer.getVersion()).isNull();
+                        assertThat(beer.getPrice()).isNull();
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testDeleteLeavesTombstone() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        Beer saved = beerStore.save(newBeer("1000000000006")).block();
+
+        beerStore.deleteWithTombstone(saved).block();
+
+        StepVerifier.create(beerStore.findById(saved.getId()))
+                    .verifyComplete();
+        StepVerifier.create(beerStore.findDeletedSince(before).filter(tombstone -> tombstone.getBeerId().equals(saved.getId())))
+                    .expectNextCount(1)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testReserveInventoryIsAllOrNothing() {
+        Beer plenty = beerStore.save(newBeer("1000000000008")).block();
+        Beer scarce = beerStore.save(newBeer("1000000000009")).block();
+
+        StepVerifier.create(beerStore.reserveInventory(new TreeMap<>(Map.of(plenty.getId(), 4, scarce.getId(), 11))))
+                    .expectError(InsufficientInventoryException.class)
+                    .verify();
+        assertThat(beerStore.findById(plenty.getId()).block().getQuantityOnHand()).isEqualTo(10);
+
+        beerStore.reserveInventory(new TreeMap<>(Map.of(plenty.getId(), 4, scarce.getId(), 10))).block();
+        Beer reserved = beerStore.findById(plenty.getId()).block();
+        assertThat(reserved.getQuantityOnHand()).isEqualTo(6);
+        assertThat(reserved.getVersion()).isEqualTo(plenty.getVersion() + 1);
+        assertThat(beerStore.findById(scarce.getId()).block().getQuantityOnHand()).isZero();
+    }
+
+    private Beer newBeer(String upc) {
+        return Beer.builder()
+                   .beerName("Jdbc Test Beer")
+                   .beerStyle(BeerStyleEnum.IPA)
+                   .upc(upc)
+                   .quantityOnHand(10)
+                   .price(new BigDecimal("9.99"))
+                   .build();
+    }
+}
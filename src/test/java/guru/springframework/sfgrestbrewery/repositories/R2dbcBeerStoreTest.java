@@ -0,0 +1,95 @@
+package guru.springframework.sfgrestbrewery.repositories;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.domain.BeerTombstone;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class R2dbcBeerStoreTest {
+
+    @Autowired
+    R2dbcBeerStore beerStore;
+
+    @Autowired
+    BeerRepository beerRepository;
+
+    @Autowired
+    R2dbcEntityTemplate template;
+
+    @Autowired
+    TransactionalOperator transactionalOperator;
+
+    @Test
+    void testFailedTombstoneKeepsTheBeer() {
+        BeerTombstoneRepository failingTombstones = mock(BeerTombstoneRepository.class);
+        when(failingTombstones.save(any(BeerTombstone.class))).thenReturn(Mono.error(new IllegalStateException("tombstone insert failed")));
+        R2dbcBeerStore failingStore = new R2dbcBeerStore(beerRepository, failingTombstones, template, transactionalOperator);
+        Beer saved = beerStore.save(newBeer("2000000000001")).block();
+
+        StepVerifier.create(failingStore.deleteWithTombstone(saved))
+                    .expectError(IllegalStateException.class)
+                    .verify();
+
+        StepVerifier.create(beerStore.findById(saved.getId()))
+                    .expectNextCount(1)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testChangeFeedIncludesTheWatermark() {
+        //read back, the column keeps fewer fractional digits than the clock that stamped the entity
+        Beer saved = beerStore.save(newBeer("2000000000002"))
+                              .flatMap(beer -> beerStore.findById(beer.getId()))
+                              .block();
+
+        //a reader that stopped at this beer's timestamp must see it, and anything sharing it, again
+        StepVerifier.create(beerStore.findModifiedSince(saved.getLastModifiedDate())
+                                     .filter(beer -> beer.getId().equals(saved.getId())))
+                    .expectNextCount(1)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testReserveInventoryIsAllOrNothing() {
+        Beer plenty = beerStore.save(newBeer("2000000000003")).block();
+        Beer scarce = beerStore.save(newBeer("2000000000004")).block();
+
+        StepVerifier.create(beerStore.reserveInventory(new TreeMap<>(Map.of(plenty.getId(), 4, scarce.getId(), 11))))
+                    .expectError(InsufficientInventoryException.class)
+                    .verify();
+        assertThat(beerStore.findById(plenty.getId()).block().getQuantityOnHand()).isEqualTo(10);
+
+        beerStore.reserveInventory(new TreeMap<>(Map.of(plenty.getId(), 4, scarce.getId(), 10))).block();
+        Beer reserved = beerStore.findById(plenty.getId()).block();
+        assertThat(reserved.getQuantityOnHand()).isEqualTo(6);
+        assertThat(reserved.getVersion()).isEqualTo(plenty.getVersion() + 1);
+        assertThat(beerStore.findById(scarce.getId()).block().getQuantityOnHand()).isZero();
+    }
+
+    private Beer newBeer(String upc) {
+        return Beer.builder()
+                   .beerName("R2dbc Test Beer")
+                   .beerStyle(BeerStyleEnum.IPA)
+                   .upc(upc)
+                   .price(new BigDecimal("9.99"))
+                   .quantityOnHand(10)
+                   .build();
+    }
+}
@@ -0,0 +1,73 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.services.cache.BeerDtoCodec;
+import guru.springframework.sfgrestbrewery.services.cache.LruCache;
+import guru.springframework.sfgrestbrewery.services.cache.TieredCache;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantKey;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.util.List;
+
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_LIST_CACHE;
+import static guru.springframework.sfgrestbrewery.config.CacheConfig.BEER_UPC_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BeerCacheEvictionListenerTest {
+
+    TieredCache<BeerDto> beerCache = new TieredCache<>(BEER_CACHE, new BeerDtoCodec(), 10, 4096);
+    TieredCache<BeerDto> upcCache = new TieredCache<>(BEER_UPC_CACHE, new BeerDtoCodec(), 10, 4096);
+    LruCache listCache = new LruCache(BEER_LIST_CACHE, 10);
+    BeerCacheEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(beerCache, upcCache, listCache));
+        cacheManager.afterPropertiesSet();
+        listener = new BeerCacheEvictionListener(cacheManager);
+    }
+
+    @Test
+    void testWriteInOneTenantKeepsOtherTenantsCached() {
+        for (String tenant : List.of("default", "acme", "globex")) {
+            beerCache.put(TenantKey.of(tenant, 1), beer());
+            upcCache.put(TenantKey.of(tenant, "0631234200036"), beer());
+            listCache.put(TenantKey.of(tenant, "page-0"), "beers of " + tenant);
+        }
+
+        listener.onBeerChanged(new BeerChangedEvent("acme", 1, "0631234200036", 2L, false));
+
+        assertThat(beerCache.get(TenantKey.of("acme", 1))).isNull();
+        assertThat(upcCache.get(TenantKey.of("acme", "0631234200036"))).isNull();
+        assertThat(listCache.get(TenantKey.of("acme", "page-0"))).isNull();
+        for (String tenant : List.of("default", "globex")) {
+            assertThat(beerCache.get(TenantKey.of(tenant, 1))).isNotNull();
+            assertThat(upcCache.get(TenantKey.of(tenant, "0631234200036"))).isNotNull();
+            assertThat(listCache.get(TenantKey.of(tenant, "page-0"), String.class)).isEqualTo("beers of " + tenant);
+        }
+    }
+
+    @Test
+    void testWriteInDefaultTenantKeepsOtherTenantsCached() {
+        listCache.put(TenantKey.of("default", "page-0"), "beers of default");
+        listCache.put(TenantKey.of("acme", "page-0"), "beers of acme");
+
+        listener.onBeerChanged(new BeerChangedEvent("default", 1, null, 2L, false));
+
+        assertThat(listCache.get(TenantKey.of("default", "page-0"))).isNull();
+        assertThat(listCache.get(TenantKey.of("acme", "page-0"))).isNotNull();
+    }
+
+    private BeerDto beer() {
+        return BeerDto.builder()
+                      .id(1)
+                      .version(1L)
+                      .beerName("Mango Bobs")
+                      .upc("0631234200036")
+                      .build();
+    }
+}
@@ -0,0 +1,88 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import guru.springframework.sfgrestbrewery.domain.Beer;
+import guru.springframework.sfgrestbrewery.repositories.BeerStore;
+import guru.springframework.sfgrestbrewery.web.controller.InsufficientInventoryException;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderLineDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BeerOrderServiceImplTest {
+
+    @Autowired
+    BeerOrderService beerOrderService;
+
+    @Autowired
+    CustomerService customerService;
+
+    @Autowired
+    BeerStore beerStore;
+
+    @Test
+    void testOrderReservesStock() {
+        UUID customerId = newCustomer();
+        Beer beer = beerStore.save(newBeer("3000000000001")).block();
+
+        StepVerifier.create(beerOrderService.placeOrder(customerId, order(line(beer.getId(), 3), line(beer.getId(), 2))))
+                    .assertNext(order -> assertThat(order.getBeerOrderLines()).hasSize(2))
+                    .verifyComplete();
+
+        assertThat(beerStore.findById(beer.getId()).block().getQuantityOnHand()).isEqualTo(5);
+    }
+
+    @Test
+    void testShortStockPlacesNothing() {
+        UUID customerId = newCustomer();
+        Beer plenty = beerStore.save(newBeer("3000000000002")).block();
+        Beer scarce = beerStore.save(newBeer("3000000000003")).block();
+
+        StepVerifier.create(beerOrderService.placeOrder(customerId, order(line(plenty.getId(), 1), line(scarce.getId(), 11))))
+                    .expectError(InsufficientInventoryException.class)
+                    .verify();
+
+        assertThat(beerStore.findById(plenty.getId()).block().getQuantityOnHand()).isEqualTo(10);
+        StepVerifier.create(beerOrderService.listOrders(customerId, null, 10))
+                    .verifyComplete();
+    }
+
+    private UUID newCustomer() {
+        return customerService.saveNewCustomer(CustomerDto.builder().name("Order Test Customer").build())
+                              .block()
+                              .getId();
+    }
+
+    private static BeerOrderDto order(BeerOrderLineDto... lines) {
+        return BeerOrderDto.builder()
+                           .beerOrderLines(List.of(lines))
+                           .build();
+    }
+
+    private static BeerOrderLineDto line(Integer beerId, int quantity) {
+        return BeerOrderLineDto.builder()
+                               .beerId(beerId)
+                               .orderQuantity(quantity)
+                               .build();
+    }
+
+    private static Beer newBeer(String upc) {
+        return Beer.builder()
+                   .beerName("Order Test Beer")
+                   .beerStyle(BeerStyleEnum.IPA)
+                   .upc(upc)
+                   .price(new BigDecimal("9.99"))
+                   .quantityOnHand(10)
+                   .build();
+    }
+}
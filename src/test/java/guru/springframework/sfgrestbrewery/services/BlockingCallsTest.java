@@ -0,0 +1,41 @@
+package guru.springframework.sfgrestbrewery.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+class BlockingCallsTest {
+
+    Scheduler scheduler = Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), "test-vt");
+    BlockingCalls blockingCalls = new BlockingCalls(scheduler);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    void testCallRunsOnVirtualThread() {
+        StepVerifier.create(blockingCalls.mono(() -> Thread.currentThread().isVirtual()))
+                    .expectNext(true)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testNullResultCompletesEmpty() {
+        StepVerifier.create(blockingCalls.mono(() -> null))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testFluxEmitsEachResult() {
+        StepVerifier.create(blockingCalls.flux(() -> List.of(1, 2, 3)))
+                    .expectNext(1, 2, 3)
+                    .verifyComplete();
+    }
+}
@@ -0,0 +1,128 @@
+package guru.springframework.sfgrestbrewery.services.batch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchLoaderTest {
+    private static final Duration WINDOW = Duration.ofMillis(5);
+
+    VirtualTimeScheduler scheduler;
+    List<Set<Integer>> batches;
+    List<Integer> batchSizes;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        batches = new CopyOnWriteArrayList<>();
+        batchSizes = new ArrayList<>();
+    }
+
+    //answers every key but 13 with its name
+    private BatchLoader<Integer, String> loader(int maxBatchSize) {
+        return new BatchLoader<>(keys -> {
+            batches.add(Set.copyOf(keys));
+            return Mono.just(keys.stream()
+                                 .filter(key -> key != 13)
+                                 .map(key -> "beer-" + key)
+                                 .toList());
+        }, value -> Integer.valueOf(value.substring(5)), maxBatchSize, WINDOW, scheduler, batchSizes::add);
+    }
+
+    @Test
+    void testLookupsWithinWindowShareOneBatch() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        List<String> one = new ArrayList<>();
+        List<String> two = new ArrayList<>();
+        List<String> twoAgain = new ArrayList<>();
+        loader.load(1).subscribe(one::add);
+        loader.load(2).subscribe(two::add);
+        loader.load(2).subscribe(twoAgain::add);
+
+        assertThat(batches).isEmpty();
+
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(batches).containsExactly(Set.of(1, 2));
+        assertThat(batchSizes).containsExactly(2);
+        assertThat(one).containsExactly("beer-1");
+        assertThat(two).containsExactly("beer-2");
+        assertThat(twoAgain).containsExactly("beer-2");
+    }
+
+    @Test
+    void testMissingKeyCompletesEmpty() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        StepVerifier.withVirtualTime(() -> loader.load(13), () -> scheduler, Long.MAX_VALUE)
+                    .thenAwait(WINDOW)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testFullBatchDispatchesBeforeWindow() {
+        BatchLoader<Integer, String> loader = loader(2);
+
+        loader.load(1).subscribe();
+        loader.load(2).subscribe();
+
+        assertThat(batches).containsExactly(Set.of(1, 2));
+
+        loader.load(3).subscribe();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(batches).containsExactly(Set.of(1, 2), Set.of(3));
+    }
+
+    @Test
+    void testCancelledLookupLeavesTheBatch() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        List<String> two = new ArrayList<>();
+        loader.load(1).subscribe().dispose();
+        loader.load(2).subscribe(two::add);
+        Disposable shared = loader.load(2).subscribe();
+        shared.dispose();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(batches).containsExactly(Set.of(2));
+        assertThat(batchSizes).containsExactly(1);
+        assertThat(two).containsExactly("beer-2");
+    }
+
+    @Test
+    void testFullyCancelledBatchIsNotDispatched() {
+        BatchLoader<Integer, String> loader = loader(100);
+
+        loader.load(1).subscribe().dispose();
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    void testFailedBatchFailsEveryCaller() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> Mono.error(new IllegalStateException("database down")),
+                value -> 0, 100, WINDOW, scheduler, batchSizes::add);
+
+        List<Throwable> errors = new ArrayList<>();
+        loader.load(1).subscribe(value -> { }, errors::add);
+        loader.load(2).subscribe(value -> { }, errors::add);
+        scheduler.advanceTimeBy(WINDOW);
+
+        assertThat(errors).hasSize(2)
+                          .allSatisfy(error -> assertThat(error).hasMessage("database down"));
+    }
+}
@@ -0,0 +1,46 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    LruCache cache = new LruCache("test", 2);
+
+    @Test
+    void testFullCacheDropsLeastRecentlyUsed() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictions()).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a", Integer.class)).isEqualTo(1);
+        assertThat(cache.get("c", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void testManyDistinctKeysStayBounded() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("beerName=" + i, i);
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("beerName=999", Integer.class)).isEqualTo(999);
+    }
+
+    @Test
+    void testRetrieveLoadsAndCaches() {
+        assertThat(cache.retrieve("a")).isNull();
+        assertThat(cache.retrieve("a", () -> CompletableFuture.completedFuture(1)).join()).isEqualTo(1);
+        assertThat(cache.retrieve("a").join()).isEqualTo(1);
+
+        cache.put("a", null);
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,188 @@
+package guru.springframework.sfgrestbrewery.services.cache;
+
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TieredCacheTest {
+
+    TieredCache<BeerDto> cache = new TieredCache<>("test", new BeerDtoCodec(), 2, 1024);
+
+    @Test
+    void testCodecRoundTrip() {
+        BeerDto beer = beer(1);
+        beer.setQuantityOnHand(null);
+        BeerDtoCodec codec = new BeerDtoCodec();
+
+        assertThat(codec.decode(codec.encode(beer))).isEqualTo(beer);
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsDemotedAndPromotedBack() {
+        cache.put(1, beer(1));
+        cache.put(2, beer(2));
+        cache.get(1);
+        cache.put(3, beer(3));
+
+        assertThat(cache.stats().demotions()).isEqualTo(1);
+        assertThat(cache.stats().l2Size()).isEqualTo(1);
+
+        assertThat(cache.get(2, BeerDto.class)).isEqualTo(beer(2));
+        assertThat(cache.stats().l2Hits()).isEqualTo(1);
+        //promoting 2 demoted 1, the least recently used of 1 and 3
+        assertThat(cache.stats().l1Size()).isEqualTo(2);
+        assertThat(cache.get(1, BeerDto.class)).isEqualTo(beer(1));
+        assertThat(cache.stats().l2Hits()).isEqualTo(2);
+    }
+
+    @Test
+    void testFullL2EvictsOldest() {
+        for (int i = 1; i <= 40; i++) {
+            cache.put(i, beer(i));
+        }
+
+        TieredCache.Stats stats = cache.stats();
+        assertThat(stats.l2Evictions()).isPositive();
+        assertThat(stats.l2Bytes()).isLessThanOrEqualTo(1024);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(38, BeerDto.class)).isEqualTo(beer(38));
+    }
+
+    @Test
+    void testEvictIfReachesBothLevels() {
+        cache.put(1, beer(1));
+        cache.put(2, beer(2));
+        cache.put(3, beer(3));
+        cache.put(4, beer(4));
+
+        cache.evictIf(key -> (Integer) key % 2 == 1);
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(3)).isNull();
+        assertThat(cache.get(2, BeerDto.class)).isEqualTo(beer(2));
+        assertThat(cache.get(4, BeerDto.class)).isEqualTo(beer(4));
+    }
+
+    @Test
+    void testPutReplacesDemotedValue() {
+        cache.put(1, beer(1));
+        cache.put(2, beer(2));
+        cache.put(3, beer(3));
+
+        BeerDto renamed = beer(1);
+        renamed.setBeerName("Renamed");
+        cache.put(1, renamed);
+
+        assertThat(cache.get(1, BeerDto.class).getBeerName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void testEvictRemovesFromBothLevels() {
+        cache.put(1, beer(1));
+        cache.put(2, beer(2));
+        cache.put(3, beer(3));
+
+        cache.evict(1);
+        cache.evict(3);
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(3)).isNull();
+        assertThat(cache.retrieve(2).join()).isEqualTo(beer(2));
+    }
+
+    @Test
+    void testEvictDuringPromoteIsNotUndone() throws Exception {
+        PausingCodec codec = new PausingCodec();
+        TieredCache<BeerDto> pausing = new TieredCache<>("test", codec, 2, 1024);
+        pausing.put(1, beer(1));
+        pausing.put(2, beer(2));
+        pausing.put(3, beer(3));
+
+        codec.pauseDecode = true;
+        CompletableFuture<BeerDto> promoting = CompletableFuture.supplyAsync(() -> pausing.get(1, BeerDto.class));
+        assertThat(codec.paused.await(5, TimeUnit.SECONDS)).isTrue();
+        pausing.evict(1);
+        codec.resume.countDown();
+
+        //the reader that started first still sees the old value, but it must not come back into the cache
+        assertThat(promoting.get(5, TimeUnit.SECONDS)).isEqualTo(beer(1));
+        assertThat(pausing.get(1)).isNull();
+        assertThat(pausing.stats().l1Size()).isEqualTo(2);
+    }
+
+    @Test
+    void testEvictDuringDemoteIsNotUndone() throws Exception {
+        PausingCodec codec = new PausingCodec();
+        TieredCache<BeerDto> pausing = new TieredCache<>("test", codec, 2, 1024);
+        pausing.put(1, beer(1));
+        pausing.put(2, beer(2));
+
+        codec.pauseEncode = true;
+        CompletableFuture<Void> demoting = CompletableFuture.runAsync(() -> pausing.put(3, beer(3)));
+        assertThat(codec.paused.await(5, TimeUnit.SECONDS)).isTrue();
+        pausing.evict(1);
+        codec.resume.countDown();
+        demoting.get(5, TimeUnit.SECONDS);
+
+        assertThat(pausing.get(1)).isNull();
+        assertThat(pausing.stats().l2Size()).isZero();
+        assertThat(pausing.stats().demotions()).isZero();
+    }
+
+    private BeerDto beer(int id) {
+        return BeerDto.builder()
+                      .id(id)
+                      .version(3L)
+                      .beerName("Beer " + id)
+                      .beerStyle("IPA")
+                      .upc("06312342000" + id)
+                      .price(new BigDecimal("12.95"))
+                      .quantityOnHand(25)
+                      .createdDate(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_456_000))
+                      .lastUpdatedDate(LocalDateTime.of(2024, 5, 2, 11, 0))
+                      .build();
+    }
+
+    /**
+     * Holds the first encode or decode it is told to pause until the test lets it go.
+     */
+    static class PausingCodec implements ValueCodec<BeerDto> {
+        final BeerDtoCodec delegate = new BeerDtoCodec();
+        final CountDownLatch paused = new CountDownLatch(1);
+        final CountDownLatch resume = new CountDownLatch(1);
+        volatile boolean pauseEncode;
+        volatile boolean pauseDecode;
+
+        @Override
+        public byte[] encode(BeerDto value) {
+            if (pauseEncode) {
+                pause();
+            }
+            return delegate.encode(value);
+        }
+
+        @Override
+        public BeerDto decode(byte[] bytes) {
+            if (pauseDecode) {
+                pause();
+            }
+            return delegate.decode(bytes);
+        }
+
+        private void pause() {
+            paused.countDown();
+            try {
+                resume.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static guru.springframework.sfgrestbrewery.services.tenancy.TenantContext.DEFAULT_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheInvalidationBusTest {
+
+    LoopbackInvalidationBus.Topic topic = new LoopbackInvalidationBus.Topic();
+    List<Object> nodeAEvents = new ArrayList<>();
+    List<Object> nodeBEvents = new ArrayList<>();
+    CacheInvalidationRelay nodeA = new CacheInvalidationRelay(new LoopbackInvalidationBus(topic), nodeAEvents::add, new SimpleMeterRegistry());
+    CacheInvalidationRelay nodeB = new CacheInvalidationRelay(new LoopbackInvalidationBus(topic), nodeBEvents::add, new SimpleMeterRegistry());
+
+    @Test
+    void testLocalChangeReachesOtherNodesAsRemote() {
+        nodeA.onBeerChanged(new BeerChangedEvent(1, "0631234200036", 3L));
+
+        assertThat(nodeAEvents).isEmpty();
+        assertThat(nodeBEvents).containsExactly(new BeerChangedEvent(DEFAULT_TENANT, 1, "0631234200036", 3L, true));
+    }
+
+    @Test
+    void testRemoteChangeIsNotBroadcastAgain() {
+        nodeB.onBeerChanged(new BeerChangedEvent(DEFAULT_TENANT, 1, "0631234200036", 3L, true));
+
+        assertThat(nodeAEvents).isEmpty();
+    }
+
+    @Test
+    void testMulticastDatagramRoundTrip() throws Exception {
+        InvalidationProperties properties = new InvalidationProperties();
+        properties.setPort(0);
+
+        try (MulticastInvalidationBus sender = new MulticastInvalidationBus(properties);
+             MulticastInvalidationBus receiver = new MulticastInvalidationBus(properties)) {
+            byte[] datagram = sender.encode(new BeerChangedEvent(7, null, 2L));
+
+            assertThat(receiver.decode(datagram)).isEqualTo(new BeerChangedEvent(DEFAULT_TENANT, 7, null, 2L, true));
+            assertThat(sender.decode(datagram)).isNull();
+            assertThat(receiver.decode(new byte[]{1, 2, 3})).isNull();
+
+            BeerChangedEvent tenantChange = new BeerChangedEvent("acme", 7, "0631234200036", null, false);
+            assertThat(receiver.decode(sender.encode(tenantChange))).isEqualTo(new BeerChangedEvent("acme", 7, "0631234200036", null, true));
+        }
+    }
+}
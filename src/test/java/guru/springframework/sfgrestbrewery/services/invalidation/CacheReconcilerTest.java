@@ -0,0 +1,66 @@
+package guru.springframework.sfgrestbrewery.services.invalidation;
+
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.services.BeerService;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static guru.springframework.sfgrestbrewery.services.tenancy.TenantContext.DEFAULT_TENANT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheReconcilerTest {
+
+    BeerService beerService = mock(BeerService.class);
+    TenancyProperties tenancyProperties = new TenancyProperties();
+    List<Object> events = new ArrayList<>();
+    CacheReconciler reconciler = new CacheReconciler(new InvalidationProperties(), tenancyProperties, beerService,
+            events::add, new SimpleMeterRegistry());
+
+    @Test
+    void testChangesAreReplayedAsRemoteEvictions() {
+        tenancyProperties.setEnabled(true);
+        tenancyProperties.getTenants().put("acme", new TenancyProperties.Tenant());
+        when(beerService.listBeerChanges(any())).thenReturn(Flux.just(
+                BeerChangeDto.builder().beerId(1).upc("0631234200036").beer(BeerDto.builder().id(1).version(4L).build()).build(),
+                BeerChangeDto.builder().beerId(2).upc("0631234300019").deleted(true).build()));
+
+        assertThat(reconciler.reconcile().block()).isEqualTo(4);
+
+        assertThat(events).containsExactly(
+                new BeerChangedEvent(DEFAULT_TENANT, 1, "0631234200036", 4L, true),
+                new BeerChangedEvent(DEFAULT_TENANT, 2, "0631234300019", null, true),
+                new BeerChangedEvent("acme", 1, "0631234200036", 4L, true),
+                new BeerChangedEvent("acme", 2, "0631234300019", null, true));
+    }
+
+    @Test
+    void testFailedRunIsRetriedFromTheSameWatermark() {
+        when(beerService.listBeerChanges(any())).thenReturn(Flux.empty());
+        reconciler.reconcile().block();
+
+        when(beerService.listBeerChanges(any())).thenReturn(Flux.error(new IllegalStateException("database down")));
+        assertThat(reconciler.reconcile().block()).isZero();
+
+        when(beerService.listBeerChanges(any())).thenReturn(Flux.empty());
+        reconciler.reconcile().block();
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(beerService, times(3)).listBeerChanges(since.capture());
+        assertThat(since.getAllValues().get(2)).isEqualTo(since.getAllValues().get(1));
+        assertThat(since.getAllValues().get(1)).isAfterOrEqualTo(since.getAllValues().get(0));
+    }
+}
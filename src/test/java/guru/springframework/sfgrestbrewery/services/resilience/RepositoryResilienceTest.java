@@ -0,0 +1,126 @@
+package guru.springframework.sfgrestbrewery.services.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RepositoryResilienceTest {
+
+    SimpleMeterRegistry meterRegistry;
+    ResilienceProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ResilienceProperties();
+        properties.setRead(new ResilienceProperties.Policy(Duration.ofMillis(100), 1, 2, Duration.ofMillis(1)));
+        properties.setWrite(new ResilienceProperties.Policy(Duration.ofMillis(100), 1, 2, Duration.ofMillis(1)));
+    }
+
+    @Test
+    void testSlowCallTimesOut() {
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+
+        StepVerifier.create(resilience.read("test.read", Mono.never()))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, meterRegistry.get("sfg.repository.calls").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void testTransientReadFailureIsRetried() {
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<String> flaky = Mono.defer(() -> attempts.incrementAndGet() < 3 ?
+                Mono.error(new TransientDataAccessResourceException("connection reset")) :
+                Mono.just("beer"));
+
+        StepVerifier.create(resilience.read("test.read", flaky))
+                    .expectNext("beer")
+                    .verifyComplete();
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testWritesAreNotRetried() {
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<String> failing = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TransientDataAccessResourceException("connection reset"));
+        });
+
+        StepVerifier.create(resilience.write("test.write", failing))
+                    .expectError(TransientDataAccessResourceException.class)
+                    .verify(Duration.ofSeconds(5));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testSlowStreamTimesOutAsAWhole() {
+        properties.setList(new ResilienceProperties.Policy(Duration.ofMillis(100), 1, 0, Duration.ofMillis(1)));
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+
+        //each row is well within the timeout, the scan as a whole is not
+        Flux<Long> trickle = Flux.interval(Duration.ofMillis(40)).take(10);
+
+        StepVerifier.create(resilience.list("test.list", trickle))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSlowSubscriberDoesNotHoldTheListPermit() {
+        properties.setList(new ResilienceProperties.Policy(Duration.ofMillis(100), 1, 0, Duration.ofMillis(1)));
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+
+        //takes one row and then waits, longer than the timeout, before asking for more
+        StepVerifier.create(resilience.list("test.list", Flux.just("a", "b", "c")), 1)
+                    .expectNext("a")
+                    .then(() -> StepVerifier.create(resilience.list("test.list", Flux.just("d")))
+                                            .expectNext("d")
+                                            .verifyComplete())
+                    .thenAwait(Duration.ofMillis(200))
+                    .thenRequest(2)
+                    .expectNext("b", "c")
+                    .verifyComplete();
+    }
+
+    @Test
+    void testFullBulkheadRejectsOnlyItsOwnType() {
+        properties.setRead(new ResilienceProperties.Policy(Duration.ofSeconds(10), 1, 0, Duration.ofMillis(1)));
+        RepositoryResilience resilience = new RepositoryResilience(properties, meterRegistry);
+
+        Disposable inFlight = resilience.read("test.read", Mono.never()).subscribe();
+
+        StepVerifier.create(resilience.read("test.read", Mono.just("beer")))
+                    .expectError(BulkheadFullException.class)
+                    .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(resilience.list("test.list", Mono.just("beers")))
+                    .expectNext("beers")
+                    .verifyComplete();
+
+        inFlight.dispose();
+
+        StepVerifier.create(resilience.read("test.read", Mono.just("beer")))
+                    .expectNext("beer")
+                    .verifyComplete();
+    }
+}
@@ -5,6 +5,7 @@ import guru.springframework.sfgrestbrewery.services.BeerService;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerPagedList;
 import guru.springframework.sfgrestbrewery.web.model.BeerStyleEnum;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Random;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 
 @SpringBootTest
@@ -61,6 +63,34 @@ class BeerControllerTest {
                      .value(beerDto -> beerDto.getBeerName(), Matchers.equalTo(validBeer.getBeerName()));
     }
 
+    @Test
+    void testGetBeerById_NotFound() {
+        given(beerService.getById(any(), any())).willReturn(Mono.empty());
+
+        webTestClient.get()
+                     .uri("/api/v1/beer/1")
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus()
+                     .isNotFound();
+    }
+
+    @Test
+    void testGetBeerByIdCbor() {
+        given(beerService.getById(any(), any())).willReturn(Mono.just(validBeer));
+
+        webTestClient.get()
+                     .uri("/api/v1/beer/1")
+                     .accept(MediaType.APPLICATION_CBOR)
+                     .exchange()
+                     .expectStatus()
+                     .isOk()
+                     .expectHeader()
+                     .contentType(MediaType.APPLICATION_CBOR)
+                     .expectBody(BeerDto.class)
+                     .value(beerDto -> beerDto.getBeerName(), Matchers.equalTo(validBeer.getBeerName()));
+    }
+
     @Test
     public void testGetBeerByUpc() {
         String upc = BeerLoader.BEER_3_UPC;
@@ -98,7 +128,7 @@ class BeerControllerTest {
         List<BeerDto> beerDtoList = List.of(beer1, beer2);
         BeerPagedList beerPagedList = new BeerPagedList(beerDtoList, PageRequest.of(0, 10), beerDtoList.size());
 
-        given(beerService.listBeers(any(), any(), any(), any())).willReturn(Mono.just(beerPagedList));
+        given(beerService.listBeers(any(), any(), any(), any(), any())).willReturn(Mono.just(beerPagedList));
 
         webTestClient.get()
                      .uri("/api/v1/beer")
@@ -108,4 +138,24 @@ class BeerControllerTest {
                      .isOk()
                      .expectBody(BeerPagedList.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetListBeersSummaryView() {
+        BeerPagedList beerPagedList = new BeerPagedList(List.of(), PageRequest.of(0, 10), 0);
+        given(beerService.listBeers(any(), any(), any(), any(), eq(BeerView.SUMMARY))).willReturn(Mono.just(beerPagedList));
+
+        webTestClient.get()
+                     .uri("/api/v1/beer?view=SUMMARY")
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus()
+                     .isOk();
+
+        webTestClient.get()
+                     .uri("/api/v1/beer?view=EVERYTHING")
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus()
+                     .isBadRequest();
+    }
+}
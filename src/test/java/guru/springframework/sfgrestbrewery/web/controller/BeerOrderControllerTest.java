@@ -0,0 +1,118 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.BeerOrderService;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderLineDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerOrderStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class BeerOrderControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    BeerOrderService beerOrderService;
+
+    UUID customerId;
+    BeerOrderDto validOrder;
+
+    @BeforeEach
+    void setUp() {
+        customerId = UUID.randomUUID();
+        validOrder = BeerOrderDto.builder()
+                                 .id(UUID.randomUUID())
+                                 .customerId(customerId)
+                                 .orderStatus(BeerOrderStatusEnum.NEW)
+                                 .beerOrderLines(List.of(BeerOrderLineDto.builder()
+                                                                         .beerId(1)
+                                                                         .orderQuantity(2)
+                                                                         .build()))
+                                 .build();
+    }
+
+    @Test
+    void testPlaceOrder() {
+        given(beerOrderService.placeOrder(eq(customerId), any())).willReturn(Mono.just(validOrder));
+
+        webTestClient.post()
+                     .uri("/api/v1/customer/" + customerId + "/order")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(BeerOrderDto.builder()
+                                            .beerOrderLines(validOrder.getBeerOrderLines())
+                                            .build())
+                     .exchange()
+                     .expectStatus()
+                     .isCreated()
+                     .expectHeader()
+                     .location("/api/v1/customer/" + customerId + "/order/" + validOrder.getId())
+                     .expectBody(BeerOrderDto.class)
+                     .isEqualTo(validOrder);
+    }
+
+    @Test
+    void testPlaceOrder_InsufficientInventory() {
+        given(beerOrderService.placeOrder(any(), any())).willReturn(Mono.error(new InsufficientInventoryException(1)));
+
+        webTestClient.post()
+                     .uri("/api/v1/customer/" + customerId + "/order")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(BeerOrderDto.builder()
+                                            .beerOrderLines(validOrder.getBeerOrderLines())
+                                            .build())
+                     .exchange()
+                     .expectStatus()
+                     .isEqualTo(409);
+    }
+
+    @Test
+    void testPlaceOrder_BadRequest() {
+        webTestClient.post()
+                     .uri("/api/v1/customer/" + customerId + "/order")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(BeerOrderDto.builder()
+                                            .beerOrderLines(List.of(BeerOrderLineDto.builder()
+                                                                                    .beerId(1)
+                                                                                    .orderQuantity(0)
+                                                                                    .build()))
+                                            .build())
+                     .exchange()
+                     .expectStatus()
+                     .isBadRequest();
+    }
+
+    @Test
+    void testListOrders() {
+        UUID cursor = UUID.randomUUID();
+        given(beerOrderService.listOrders(eq(customerId), eq(cursor), anyInt())).willReturn(Flux.just(validOrder));
+
+        webTestClient.get()
+                     .uri("/api/v1/customer/" + customerId + "/order?cursor=" + cursor)
+                     .accept(MediaType.APPLICATION_NDJSON)
+                     .exchange()
+                     .expectStatus()
+                     .isOk()
+                     .expectBodyList(BeerOrderDto.class)
+                     .contains(validOrder)
+                     .hasSize(1);
+    }
+}
@@ -0,0 +1,130 @@
+package guru.springframework.sfgrestbrewery.web.controller;
+
+import guru.springframework.sfgrestbrewery.services.CustomerService;
+import guru.springframework.sfgrestbrewery.web.model.CustomerDto;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class CustomerControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    CustomerService customerService;
+
+    CustomerDto validCustomer;
+
+    @BeforeEach
+    void setUp() {
+        validCustomer = CustomerDto.builder()
+                                   .id(UUID.randomUUID())
+                                   .name("Joe Buck")
+                                   .build();
+    }
+
+    @Test
+    void testGetCustomer() {
+        given(customerService.getCustomerById(any())).willReturn(Mono.just(validCustomer));
+
+        webTestClient.get()
+                     .uri("/api/v1/customer/" + validCustomer.getId())
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus()
+                     .isOk()
+                     .expectBody(CustomerDto.class)
+                     .value(customerDto -> customerDto.getName(), Matchers.equalTo(validCustomer.getName()));
+    }
+
+    @Test
+    void testGetCustomerCbor() {
+        given(customerService.getCustomerById(any())).willReturn(Mono.just(validCustomer));
+
+        //CBOR carries the id as 16 raw bytes rather than the 36 character text form
+        webTestClient.get()
+                     .uri("/api/v1/customer/" + validCustomer.getId())
+                     .accept(MediaType.APPLICATION_CBOR)
+                     .exchange()
+                     .expectStatus()
+                     .isOk()
+                     .expectBody(byte[].class)
+                     .value(body -> new String(body, StandardCharsets.ISO_8859_1), Matchers.not(Matchers.containsString(validCustomer.getId().toString())));
+
+        webTestClient.get()
+                     .uri("/api/v1/customer/" + validCustomer.getId())
+                     .accept(MediaType.APPLICATION_CBOR)
+                     .exchange()
+                     .expectBody(CustomerDto.class)
+                     .value(customerDto -> customerDto.getId(), Matchers.equalTo(validCustomer.getId()));
+    }
+
+    @Test
+    void testGetCustomer_NotFound() {
+        given(customerService.getCustomerById(any())).willReturn(Mono.empty());
+
+        webTestClient.get()
+                     .uri("/api/v1/customer/" + UUID.randomUUID())
+                     .accept(MediaType.APPLICATION_JSON)
+                     .exchange()
+                     .expectStatus()
+                     .isNotFound();
+    }
+
+    @Test
+    void testSaveNewCustomer() {
+        given(customerService.saveNewCustomer(any())).willReturn(Mono.just(validCustomer));
+
+        webTestClient.post()
+                     .uri("/api/v1/customer")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(CustomerDto.builder()
+                                           .name("Joe Buck")
+                                           .build())
+                     .exchange()
+                     .expectStatus()
+                     .isCreated()
+                     .expectHeader()
+                     .location("/api/v1/customer/" + validCustomer.getId());
+    }
+
+    @Test
+    void testSaveNewCustomer_BadRequest() {
+        webTestClient.post()
+                     .uri("/api/v1/customer")
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .bodyValue(CustomerDto.builder()
+                                           .name("J")
+                                           .build())
+                     .exchange()
+                     .expectStatus()
+                     .isBadRequest();
+    }
+
+    @Test
+    void testDeleteCustomer_NotFound() {
+        given(customerService.deleteById(any())).willReturn(Mono.error(NotFoundException::new));
+
+        webTestClient.delete()
+                     .uri("/api/v1/customer/" + UUID.randomUUID())
+                     .exchange()
+                     .expectStatus()
+                     .isNotFound();
+    }
+}
@@ -1,7 +1,9 @@
 package guru.springframework.sfgrestbrewery.web.controller;
 
 import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
 import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerPage;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,8 @@ import reactor.netty.http.client.HttpClient;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -81,6 +85,29 @@ public class WebClientV2IT {
                     .verify();
     }
 
+    @Test
+    void testGetBeerById_NotModified() {
+        ResponseEntity<BeerDto> first = webClient.get()
+                                                 .uri(BEER_V2_PATH + "/2")
+                                                 .accept(MediaType.APPLICATION_JSON)
+                                                 .retrieve()
+                                                 .toEntity(BeerDto.class)
+                                                 .block();
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        Mono<ResponseEntity<Void>> conditional = webClient.get()
+                                                          .uri(BEER_V2_PATH + "/2")
+                                                          .accept(MediaType.APPLICATION_JSON)
+                                                          .ifNoneMatch(eTag)
+                                                          .retrieve()
+                                                          .toBodilessEntity();
+
+        StepVerifier.create(conditional)
+                    .assertNext(res -> assertEquals(HttpStatus.NOT_MODIFIED, res.getStatusCode()))
+                    .verifyComplete();
+    }
+
     private Mono<BeerDto> getBeerByUpcMono(String upc) {
         return webClient.get()
                         .uri(BEER_V2_UPC_PATH + "/" + upc)
@@ -171,6 +198,44 @@ public class WebClientV2IT {
 
     }
 
+    @Test
+    void testCreateBeerUnknownStyle() {
+        BeerDto unknownStyleBeerDto = BeerDto.builder()
+                                             .beerName("Sour Power")
+                                             .beerStyle("SOUR")
+                                             .upc("0000000000099")
+                                             .price(new BigDecimal("8.99"))
+                                             .build();
+
+        Mono<ResponseEntity<Void>> beerResponseMono = webClient.post()
+                                                               .uri("/api/v2/beer")
+                                                               .accept(MediaType.APPLICATION_JSON)
+                                                               .body(BodyInserters.fromValue(unknownStyleBeerDto))
+                                                               .retrieve()
+                                                               .toBodilessEntity();
+
+        StepVerifier.create(beerResponseMono)
+                    .expectErrorMatches(t -> assertExceptionThrown(t, BAD_REQ_EXCEPTION))
+                    .verify();
+    }
+
+    @Test
+    void testCreateBeerPriceTooPrecise() {
+        //a raw body, since BeerDto itself can no longer hold such a price
+        String body = "{\"beerName\": \"Sour Power\", \"beerStyle\": \"IPA\", \"upc\": \"0000000000098\", \"price\": 12.345}";
+
+        Mono<ResponseEntity<Void>> beerResponseMono = webClient.post()
+                                                               .uri("/api/v2/beer")
+                                                               .contentType(MediaType.APPLICATION_JSON)
+                                                               .bodyValue(body)
+                                                               .retrieve()
+                                                               .toBodilessEntity();
+
+        StepVerifier.create(beerResponseMono)
+                    .expectErrorMatches(t -> assertExceptionThrown(t, BAD_REQ_EXCEPTION))
+                    .verify();
+    }
+
     private Mono<ResponseEntity<Void>> updateBeerDto(Integer id, BeerDto payload) {
         return webClient.put()
                         .uri("/api/v2/beer/" + id)
@@ -257,4 +322,144 @@ public class WebClientV2IT {
                     .expectErrorMatches(t -> assertExceptionThrown(t, NOT_FOUND_EXCEPTION))
                     .verify();
     }
+
+    private Mono<BeerPage> getBeerPageMono(String query) {
+        return webClient.get()
+                        .uri(BEER_V2_PATH + query)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .bodyToMono(BeerPage.class);
+    }
+
+    @Test
+    void testListBeers() {
+        BeerPage firstPage = getBeerPageMono("?pageSize=5").block();
+
+        assertNotNull(firstPage);
+        assertEquals(5, firstPage.getContent().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        //the keyset cursor must continue exactly where the offset page ended
+        StepVerifier.create(getBeerPageMono("?pageSize=5&cursor=" + firstPage.getNextCursor()))
+                    .assertNext(nextPage -> {
+                        assertEquals(5, nextPage.getContent().size());
+                        assertTrue(nextPage.getContent().get(0).getId() > firstPage.getNextCursor());
+                        assertEquals(firstPage.getTotal(), nextPage.getTotal());
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeers_FullLastPageHasNoCursor() {
+        BeerPage firstPage = getBeerPageMono("?pageSize=1").block();
+        assertNotNull(firstPage);
+        int rest = (int) firstPage.getTotal() - 1;
+
+        //the remaining beers fill the keyset page exactly, so there is nothing to point at
+        StepVerifier.create(getBeerPageMono("?pageSize=" + rest + "&cursor=" + firstPage.getNextCursor()))
+                    .assertNext(lastPage -> {
+                        assertEquals(rest, lastPage.getContent().size());
+                        assertNull(lastPage.getNextCursor());
+                    })
+                    .verifyComplete();
+
+        StepVerifier.create(getBeerPageMono("?pageSize=" + firstPage.getTotal()))
+                    .assertNext(onlyPage -> assertNull(onlyPage.getNextCursor()))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeers_PageNumberWithCursor() {
+        StepVerifier.create(getBeerPageMono("?pageNumber=1&pageSize=5&cursor=1"))
+                    .expectErrorMatches(t -> assertExceptionThrown(t, BAD_REQ_EXCEPTION))
+                    .verify();
+    }
+
+    @Test
+    void testListBeers_Fields() {
+        StepVerifier.create(getBeerPageMono("?pageSize=5&fields=beerName,price"))
+                    .assertNext(page -> {
+                        assertEquals(5, page.getContent().size());
+                        page.getContent().forEach(beerDto -> {
+                            assertNotNull(beerDto.getId());
+                            assertNotNull(beerDto.getBeerName());
+                            assertNotNull(beerDto.getPrice());
+                            assertNull(beerDto.getUpc());
+                            assertNull(beerDto.getBeerStyle());
+                            assertNull(beerDto.getCreatedDate());
+                        });
+                    })
+                    .verifyComplete();
+
+        StepVerifier.create(getBeerPageMono("?fields=beerName,color"))
+                    .expectErrorMatches(t -> assertExceptionThrown(t, BAD_REQ_EXCEPTION))
+                    .verify();
+    }
+
+    @Test
+    void testListBeers_FieldsDoNotShowInventory() {
+        StepVerifier.create(getBeerPageMono("?pageSize=5&fields=id,quantityOnHand"))
+                    .assertNext(page -> page.getContent().forEach(beerDto -> {
+                        assertNotNull(beerDto.getId());
+                        assertNull(beerDto.getQuantityOnHand());
+                    }))
+                    .verifyComplete();
+
+        StepVerifier.create(getBeerPageMono("?pageSize=5&fields=id,quantityOnHand&showInventoryOnHand=true"))
+                    .assertNext(page -> page.getContent().forEach(beerDto -> assertNotNull(beerDto.getQuantityOnHand())))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeers_ByStyle() {
+        StepVerifier.create(getBeerPageMono("?beerStyle=IPA"))
+                    .assertNext(page -> {
+                        assertFalse(page.getContent().isEmpty());
+                        page.getContent().forEach(beerDto -> assertEquals("IPA", beerDto.getBeerStyle()));
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeers_InventoryView() {
+        StepVerifier.create(getBeerPageMono("?pageSize=5&view=INVENTORY"))
+                    .assertNext(page -> page.getContent().forEach(beerDto -> {
+                        assertNotNull(beerDto.getUpc());
+                        assertNotNull(beerDto.getQuantityOnHand());
+                        assertNull(beerDto.getPrice());
+                    }))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeerChanges() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+
+        Mono<List<BeerChangeDto>> changesMono = webClient.get()
+                                                         .uri("/api/v2/beer/changes?since=" + since)
+                                                         .accept(MediaType.APPLICATION_JSON)
+                                                         .retrieve()
+                                                         .bodyToFlux(BeerChangeDto.class)
+                                                         .collectList();
+
+        StepVerifier.create(changesMono)
+                    .assertNext(changes -> {
+                        assertFalse(changes.isEmpty());
+                        changes.forEach(change -> assertTrue(change.getChangedDate().isAfter(since)));
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeerChanges_BadRequest() {
+        Mono<ResponseEntity<Void>> response = webClient.get()
+                                                       .uri("/api/v2/beer/changes")
+                                                       .accept(MediaType.APPLICATION_JSON)
+                                                       .retrieve()
+                                                       .toBodilessEntity();
+
+        StepVerifier.create(response)
+                    .expectErrorMatches(t -> assertExceptionThrown(t, BAD_REQ_EXCEPTION))
+                    .verify();
+    }
 }
@@ -0,0 +1,99 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionControlFilterTest {
+
+    AdmissionControlProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionControlProperties();
+    }
+
+    @Test
+    void testRateLimitedClientGets429() {
+        properties.setBurst(2);
+        properties.setRatePerSecond(0.01);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+        assertNull(run(filter, "/api/v1/beer/1", exchange -> Mono.empty()));
+        assertNull(run(filter, "/api/v1/beer/2", exchange -> Mono.empty()));
+
+        MockServerWebExchange rejected = exchange("/api/v1/beer/3");
+        filter.filter(rejected, exchange -> Mono.empty()).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertNotNull(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        //other routes have their own bucket
+        assertNull(run(filter, "/api/v2/beer/1", exchange -> Mono.empty()));
+    }
+
+    @Test
+    void testRequestsOverConcurrencyLimitGet503() {
+        properties.setInitialConcurrencyLimit(1);
+        properties.setMinConcurrencyLimit(1);
+        properties.setMaxConcurrencyLimit(1);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+        Disposable inFlight = filter.filter(exchange("/api/v1/beer/1"), exchange -> Mono.never()).subscribe();
+
+        MockServerWebExchange rejected = exchange("/api/v1/beer/2");
+        filter.filter(rejected, exchange -> Mono.empty()).block();
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+
+        //cancelling the first request hands its permit back
+        inFlight.dispose();
+        assertNull(run(filter, "/api/v1/beer/3", exchange -> Mono.empty()));
+    }
+
+    @Test
+    void testNonApiPathsAreNotLimited() {
+        properties.setBurst(0);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+        assertNull(run(filter, "/actuator/health", exchange -> Mono.empty()));
+    }
+
+    @Test
+    void testBucketsStayWithinTheCap() {
+        properties.setMaxBuckets(2);
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, new SimpleMeterRegistry());
+
+        for (int route = 0; route < 10; route++) {
+            assertNull(run(filter, "/api/v1/route" + route, exchange -> Mono.empty()));
+        }
+
+        assertEquals(2, filter.bucketCount());
+    }
+
+    @Test
+    void testRouteKey() {
+        assertEquals("/api/v1/beer", AdmissionControlFilter.routeKey("/api/v1/beer/12"));
+        assertEquals("/api/v1/beer", AdmissionControlFilter.routeKey("/api/v1/beer"));
+        assertEquals("/api/v2/beerUpc", AdmissionControlFilter.routeKey("/api/v2/beerUpc/0631234200036"));
+    }
+
+    private static HttpStatus run(AdmissionControlFilter filter, String path, WebFilterChain chain) {
+        MockServerWebExchange exchange = exchange(path);
+        filter.filter(exchange, chain).block();
+        return (HttpStatus) exchange.getResponse().getStatusCode();
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
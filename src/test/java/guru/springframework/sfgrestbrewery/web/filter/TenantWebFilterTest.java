@@ -0,0 +1,94 @@
+package guru.springframework.sfgrestbrewery.web.filter;
+
+import guru.springframework.sfgrestbrewery.services.tenancy.TenancyProperties;
+import guru.springframework.sfgrestbrewery.services.tenancy.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TenantWebFilterTest {
+
+    TenancyProperties properties;
+    TenantWebFilter filter;
+
+    //tenant and path the rest of the chain saw
+    AtomicReference<String> tenant = new AtomicReference<>();
+    AtomicReference<String> path = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new TenancyProperties();
+        properties.setEnabled(true);
+        properties.getTenants().put("acme", new TenancyProperties.Tenant());
+        filter = new TenantWebFilter(properties);
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, routed -> TenantContext.currentTenant()
+                                                       .doOnNext(current -> {
+                                                           tenant.set(current);
+                                                           path.set(routed.getRequest().getPath().value());
+                                                       })
+                                                       .then())
+              .block();
+        return exchange;
+    }
+
+    @Test
+    void testNoTenantIsDefault() {
+        run(MockServerHttpRequest.get("/api/v1/beer/1").build());
+
+        assertEquals(TenantContext.DEFAULT_TENANT, tenant.get());
+        assertEquals("/api/v1/beer/1", path.get());
+    }
+
+    @Test
+    void testTenantFromHeader() {
+        run(MockServerHttpRequest.get("/api/v1/beer/1").header("X-Tenant-Id", "acme").build());
+
+        assertEquals("acme", tenant.get());
+        assertEquals("/api/v1/beer/1", path.get());
+    }
+
+    @Test
+    void testTenantFromPathPrefixIsStripped() {
+        run(MockServerHttpRequest.get("/tenants/acme/api/v2/beer?pageSize=5").build());
+
+        assertEquals("acme", tenant.get());
+        assertEquals("/api/v2/beer", path.get());
+    }
+
+    @Test
+    void testUnknownTenantGets404() {
+        MockServerWebExchange exchange = run(MockServerHttpRequest.get("/api/v1/beer/1").header("X-Tenant-Id", "nobody").build());
+
+        assertEquals(HttpStatus.NOT_FOUND, exchange.getResponse().getStatusCode());
+        assertNull(tenant.get());
+    }
+
+    @Test
+    void testHeaderAndPathDisagreeGets400() {
+        MockServerWebExchange exchange = run(MockServerHttpRequest.get("/tenants/acme/api/v1/beer/1").header("X-Tenant-Id", "default").build());
+
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode());
+        assertNull(tenant.get());
+    }
+
+    @Test
+    void testDisabledIgnoresTenant() {
+        properties.setEnabled(false);
+
+        run(MockServerHttpRequest.get("/api/v1/beer/1").header("X-Tenant-Id", "nobody").build());
+
+        assertEquals(TenantContext.DEFAULT_TENANT, tenant.get());
+    }
+}
@@ -0,0 +1,63 @@
+package guru.springframework.sfgrestbrewery.web.functional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import guru.springframework.sfgrestbrewery.services.BeerChangedEvent;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedBeerResponseCacheTest {
+
+    EncodedBeerResponseCache cache = new EncodedBeerResponseCache(new ObjectMapper().registerModule(new JavaTimeModule()), 2);
+
+    @Test
+    void testFullCacheDropsLeastRecentlyRead() {
+        put("default", beer(1));
+        put("default", beer(2));
+        cache.get("default", 1);
+        put("default", beer(3));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("default", 2)).isNull();
+        assertThat(cache.get("default", 1)).isNotNull();
+        assertThat(cache.get("default", 3)).isNotNull();
+    }
+
+    @Test
+    void testBeerChangeEvictsOnlyThatTenant() {
+        put("default", beer(1));
+        put("acme", beer(1));
+
+        cache.onBeerChanged(new BeerChangedEvent("acme", 1, null, 1L, false));
+
+        assertThat(cache.get("acme", 1)).isNull();
+        assertThat(cache.get("default", 1).eTag()).isEqualTo("\"1-1\"");
+    }
+
+    @Test
+    void testEvictionDuringReadKeepsTheStaleBeerOut() {
+        long generation = cache.generation("default", 1);
+        //the beer changes after the reader loaded version 1 but before it stores it
+        cache.onBeerChanged(new BeerChangedEvent("default", 1, null, 2L, false));
+
+        assertThat(cache.put("default", beer(1), generation).eTag()).isEqualTo("\"1-1\"");
+        assertThat(cache.get("default", 1)).isNull();
+
+        put("default", beer(1));
+        assertThat(cache.get("default", 1)).isNotNull();
+    }
+
+    private void put(String tenant, BeerDto beerDto) {
+        cache.put(tenant, beerDto, cache.generation(tenant, beerDto.getId()));
+    }
+
+    private BeerDto beer(int id) {
+        return BeerDto.builder()
+                      .id(id)
+                      .version(1L)
+                      .beerName("Beer " + id)
+                      .build();
+    }
+}
@@ -0,0 +1,30 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BeerStyleEnumTest {
+
+    @Test
+    void codesAreUniqueAndRoundTrip() {
+        Set<Short> codes = new HashSet<>();
+        for (BeerStyleEnum style : BeerStyleEnum.values()) {
+            assertThat(codes.add(style.getCode())).as("code of %s is unique", style).isTrue();
+            assertThat(BeerStyleEnum.fromCode(style.getCode())).isSameAs(style);
+            assertThat(BeerStyleEnum.fromName(style.name())).isSameAs(style);
+        }
+    }
+
+    @Test
+    void unknownStylesAreRejected() {
+        assertThat(BeerStyleEnum.isValid("SOUR")).isFalse();
+        assertThat(BeerStyleEnum.fromName(null)).isNull();
+        assertThatThrownBy(() -> BeerStyleEnum.fromName("ipa")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BeerStyleEnum.fromCode(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
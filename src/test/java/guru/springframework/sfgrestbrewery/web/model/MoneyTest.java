@@ -0,0 +1,67 @@
+package guru.springframework.sfgrestbrewery.web.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void plainStringMatchesBigDecimal() {
+        for (long minorUnits : new long[]{0, 5, -5, 99, 100, 1295, -1295, Long.MAX_VALUE}) {
+            Money money = Money.ofMinor(minorUnits);
+            assertThat(money.toPlainString()).isEqualTo(money.toBigDecimal().toPlainString());
+        }
+    }
+
+    @Test
+    void ofKeepsExactAmountsAndRejectsExtraFractionDigits() {
+        assertThat(Money.of(new BigDecimal("12.950"))).isEqualTo(Money.ofMinor(1295));
+        assertThat(Money.of(BigDecimal.TEN)).isEqualTo(Money.ofMinor(1000));
+        assertThat(Money.of(null)).isNull();
+
+        assertThatThrownBy(() -> Money.of(new BigDecimal("12.345")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void jsonWithExtraFractionDigitsIsInvalid() {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertThatThrownBy(() -> objectMapper.readValue("{\"price\": 12.345}", BeerDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"price\": \"12.345\"}", BeerDto.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @Test
+    void onlyCatalogueCurrencyIsStored() {
+        assertThatThrownBy(() -> new Money(100, Currency.getInstance("EUR")).catalogueMinorUnits())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void jsonShapeIsAPlainNumber() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        BeerDto beerDto = BeerDto.builder()
+                                 .price(new BigDecimal("12.95"))
+                                 .build();
+
+        String json = objectMapper.writeValueAsString(beerDto);
+        assertThat(objectMapper.readTree(json).get("price").decimalValue()).isEqualByComparingTo("12.95");
+        assertThat(objectMapper.readValue(json, BeerDto.class).getPrice()).isEqualTo(Money.ofMinor(1295));
+
+        CBORMapper cborMapper = new CBORMapper();
+        JsonNode cbor = cborMapper.readTree(cborMapper.writeValueAsBytes(beerDto));
+        assertThat(cbor.get("price").isNumber()).isTrue();
+        assertThat(cborMapper.readValue(cborMapper.writeValueAsBytes(beerDto), BeerDto.class).getPrice()).isEqualTo(Money.ofMinor(1295));
+    }
+}
@@ -0,0 +1,185 @@
+package guru.springframework.sfgrestbrewery.web.rsocket;
+
+import guru.springframework.sfgrestbrewery.bootstrap.BeerLoader;
+import guru.springframework.sfgrestbrewery.web.model.BeerChangeDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerDto;
+import guru.springframework.sfgrestbrewery.web.model.BeerListRequest;
+import guru.springframework.sfgrestbrewery.web.model.BeerView;
+import io.rsocket.exceptions.ApplicationErrorException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.rsocket.server.LocalRSocketServerPort;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Talks to the app's own RSocket server over loopback TCP, with the auto-configured (CBOR) strategies.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class BeerRSocketControllerTest {
+
+    @LocalRSocketServerPort
+    int port;
+
+    @Autowired
+    RSocketRequester.Builder requesterBuilder;
+
+    RSocketRequester requester;
+
+    @BeforeEach
+    void setUp() {
+        requester = requesterBuilder.tcp("localhost", port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requester.dispose();
+    }
+
+    @Test
+    void testSetupUsesCbor() {
+        assertThat(requester.dataMimeType()).isEqualTo(MimeTypeUtils.parseMimeType("application/cbor"));
+    }
+
+    @Test
+    void testGetBeerById() {
+        StepVerifier.create(requester.route("beer.by-id").data(1).retrieveMono(BeerDto.class))
+                    .assertNext(beerDto -> {
+                        assertThat(beerDto.getId()).isEqualTo(1);
+                        assertThat(beerDto.getBeerName()).isEqualTo("Mango Bobs");
+                        assertThat(beerDto.getPrice()).isNotNull();
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testGetBeerById_NotFound() {
+        StepVerifier.create(requester.route("beer.by-id").data(Integer.MAX_VALUE).retrieveMono(BeerDto.class))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testGetBeerByUpc() {
+        StepVerifier.create(requester.route("beer.by-upc").data(BeerLoader.BEER_2_UPC).retrieveMono(BeerDto.class))
+                    .assertNext(beerDto -> assertThat(beerDto.getUpc()).isEqualTo(BeerLoader.BEER_2_UPC))
+                    .verifyComplete();
+    }
+
+    @Test
+    void testListBeersStreamsEveryPage() {
+        BeerListRequest request = BeerListRequest.builder()
+                                                 .view(BeerView.SUMMARY)
+                                                 .pageSize(7)
+                                                 .build();
+
+        List<BeerDto> beers = requester.route("beer.list")
+                                       .data(request)
+                                       .retrieveFlux(BeerDto.class)
+                                       .collectList()
+                                       .block();
+
+        assertThat(beers).hasSizeGreaterThanOrEqualTo(30);
+        assertThat(beers).extracting(BeerDto::getId).isSorted().doesNotHaveDuplicates();
+        assertThat(beers).allSatisfy(beerDto -> {
+            assertThat(beerDto.getUpc()).isNotNull();
+            assertThat(beerDto.getCreatedDate()).isNull();
+        });
+    }
+
+    @Test
+    void testListBeersHonoursDemand() {
+        BeerListRequest request = BeerListRequest.builder()
+                                                 .pageSize(5)
+                                                 .build();
+
+        StepVerifier.create(requester.route("beer.list").data(request).retrieveFlux(BeerDto.class), 3)
+                    .expectNextCount(3)
+                    .thenCancel()
+                    .verify();
+    }
+
+    @Test
+    void testListBeersFieldsDoNotShowInventory() {
+        BeerListRequest request = BeerListRequest.builder()
+                                                 .fields("id,quantityOnHand")
+                                                 .pageSize(5)
+                                                 .build();
+
+        List<BeerDto> beers = requester.route("beer.list").data(request).retrieveFlux(BeerDto.class).take(5).collectList().block();
+
+        assertThat(beers).hasSize(5).allSatisfy(beerDto -> assertThat(beerDto.getQuantityOnHand()).isNull());
+    }
+
+    @Test
+    void testListBeersUnknownStyle() {
+        BeerListRequest request = BeerListRequest.builder()
+                                                 .beerStyle("MEAD")
+                                                 .build();
+
+        StepVerifier.create(requester.route("beer.list").data(request).retrieveFlux(BeerDto.class))
+                    .expectError(ApplicationErrorException.class)
+                    .verify();
+    }
+
+    @Test
+    void testListBeerChanges() {
+        StepVerifier.create(requester.route("beer.changes")
+                                     .data(LocalDateTime.now().minusYears(1))
+                                     .retrieveFlux(BeerChangeDto.class)
+                                     .take(3))
+                    .expectNextCount(3)
+                    .verifyComplete();
+    }
+
+    @Test
+    void testUpsertBeers() {
+        BeerDto first = newBeer("RSocket Pale", "0000000000101");
+        BeerDto second = newBeer("RSocket Stout", "0000000000102");
+        BeerDto renamed = newBeer("RSocket Pale Reloaded", "0000000000101");
+
+        List<BeerDto> saved = requester.route("beer.upsert")
+                                       .data(Flux.just(first, second))
+                                       .retrieveFlux(BeerDto.class)
+                                       .collectList()
+                                       .block();
+
+        assertThat(saved).extracting(BeerDto::getUpc).containsExactly("0000000000101", "0000000000102");
+        assertThat(saved).allSatisfy(beerDto -> assertThat(beerDto.getId()).isNotNull());
+
+        StepVerifier.create(requester.route("beer.upsert").data(Flux.just(renamed)).retrieveFlux(BeerDto.class))
+                    .assertNext(beerDto -> {
+                        assertThat(beerDto.getId()).isEqualTo(saved.get(0).getId());
+                        assertThat(beerDto.getBeerName()).isEqualTo("RSocket Pale Reloaded");
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void testUpsertBeersInvalid() {
+        BeerDto invalid = newBeer("", "0000000000103");
+
+        StepVerifier.create(requester.route("beer.upsert").data(Flux.just(invalid)).retrieveFlux(BeerDto.class))
+                    .expectError(ApplicationErrorException.class)
+                    .verify();
+    }
+
+    private static BeerDto newBeer(String name, String upc) {
+        return BeerDto.builder()
+                      .beerName(name)
+                      .beerStyle("IPA")
+                      .upc(upc)
+                      .price(new BigDecimal("9.99"))
+                      .build();
+    }
+}